@@ -0,0 +1,12 @@
+package com.mylittlepet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (token revocation sync and purge, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,15 @@
 package com.mylittlepet.config;
 
+import com.mylittlepet.repository.AppSettingRepository;
+import com.mylittlepet.security.BoundedPasswordEncoder;
+import com.mylittlepet.security.CalibratedPasswordEncoder;
 import com.mylittlepet.security.JwtAuthenticationEntryPoint;
 import com.mylittlepet.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,8 +19,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -23,6 +28,10 @@ import org.springframework.web.cors.CorsConfigurationSource;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
+    private static final String BCRYPT_STRENGTH_SETTING = "security.password-hashing.bcrypt-strength";
+
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
@@ -32,9 +41,50 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    // Password hashing pool: defaults to one thread per CPU core
+    @Value("${security.password-hashing.pool-size:0}")
+    private int passwordHashingPoolSize;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${security.password-hashing.timeout-ms:5000}")
+    private long passwordHashingTimeoutMs;
+
+    @Value("${security.password-hashing.retry-after-seconds:2}")
+    private long passwordHashingRetryAfterSeconds;
+
+    // BCrypt cost: 0 = use the cluster-wide calibrated cost from app_settings
+    @Value("${security.password-hashing.bcrypt-strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password-hashing.target-ms:250}")
+    private long bcryptTargetMs;
+
+    @Value("${security.password-hashing.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password-hashing.max-strength:14}")
+    private int bcryptMaxStrength;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(AppSettingRepository appSettingRepository) {
+        int poolSize = passwordHashingPoolSize > 0 ? passwordHashingPoolSize
+                : Runtime.getRuntime().availableProcessors();
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(
+                bcryptStrength > 0 ? bcryptStrength : clusterBcryptStrength(appSettingRepository));
+        return new BoundedPasswordEncoder(encoder, poolSize, passwordHashingQueueCapacity,
+                passwordHashingTimeoutMs, passwordHashingRetryAfterSeconds);
+    }
+
+    // One cost for every node: calibrated by the first node to start, then read by all
+    private int clusterBcryptStrength(AppSettingRepository appSettingRepository) {
+        String stored = appSettingRepository.find(BCRYPT_STRENGTH_SETTING)
+                .orElseGet(() -> appSettingRepository.putIfAbsent(BCRYPT_STRENGTH_SETTING, String.valueOf(
+                        CalibratedPasswordEncoder.calibrate(bcryptTargetMs, bcryptMinStrength, bcryptMaxStrength))));
+        int strength = Integer.parseInt(stored.trim());
+        logger.info("BCrypt cost {} (cluster-wide, from app_settings)", strength);
+        return strength;
     }
 
     @Bean
@@ -51,10 +101,15 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async dispatches (e.g. completing the session event stream) were
+                        // already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // Public endpoints
                         .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/forgot-password",
-                                "/api/auth/reset-password")
+                                "/api/auth/reset-password", "/api/auth/availability")
                         .permitAll()
+                        // Refresh tokens authenticate themselves; the access token may have expired
+                        .requestMatchers("/api/session/refresh").permitAll()
                         .requestMatchers("/api/auth/test").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
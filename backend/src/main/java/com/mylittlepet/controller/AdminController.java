@@ -0,0 +1,28 @@
+package com.mylittlepet.controller;
+
+import com.mylittlepet.dto.AdminStatsDTO;
+import com.mylittlepet.service.AdminStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:5174", "http://localhost:3000" })
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    // GET /api/admin/stats - Dashboard totals for players, pets and shop products
+    @GetMapping("/stats")
+    public ResponseEntity<AdminStatsDTO> getStats() {
+        try {
+            return ResponseEntity.ok(adminStatsService.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
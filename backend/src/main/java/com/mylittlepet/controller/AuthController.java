@@ -1,7 +1,12 @@
 package com.mylittlepet.controller;
 
 import com.mylittlepet.dto.*;
+import com.mylittlepet.exception.PasswordHashingOverloadedException;
+import com.mylittlepet.exception.PasswordResetUnavailableException;
+import com.mylittlepet.security.AuthRateLimiter;
+import com.mylittlepet.security.BoundedPasswordEncoder;
 import com.mylittlepet.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,8 +24,18 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request, BindingResult bindingResult) {
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request, BindingResult bindingResult,
+            HttpServletRequest httpRequest) {
+        // Reject abusive clients before any database or bcrypt work
+        authRateLimiter.check("register", request.getEmail(), httpRequest.getRemoteAddr());
+
         // Check for validation errors
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
@@ -36,6 +51,8 @@ public class AuthController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Registration failed: " + e.getMessage());
@@ -44,7 +61,11 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, BindingResult bindingResult) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, BindingResult bindingResult,
+            HttpServletRequest httpRequest) {
+        // Reject abusive clients before any database or bcrypt work
+        authRateLimiter.check("login", request.getEmail(), httpRequest.getRemoteAddr());
+
         // Check for validation errors
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
@@ -60,6 +81,8 @@ public class AuthController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Login failed: " + e.getMessage());
@@ -69,7 +92,10 @@ public class AuthController {
 
     @PostMapping("/forgot-password")
     public ResponseEntity<?> requestPasswordReset(@Valid @RequestBody PasswordResetRequest request,
-            BindingResult bindingResult) {
+            BindingResult bindingResult, HttpServletRequest httpRequest) {
+        // Reject abusive clients before any database work
+        authRateLimiter.check("forgot-password", request.getEmail(), httpRequest.getRemoteAddr());
+
         // Check for validation errors
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
@@ -84,6 +110,8 @@ public class AuthController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordResetUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Password reset request failed: " + e.getMessage());
@@ -108,6 +136,8 @@ public class AuthController {
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Password reset failed: " + e.getMessage());
@@ -115,6 +145,25 @@ public class AuthController {
         }
     }
 
+    // GET /api/auth/availability?username=...&email=... - live check for the registration form
+    @GetMapping("/availability")
+    public ResponseEntity<?> checkAvailability(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String email, HttpServletRequest httpRequest) {
+        authRateLimiter.check("availability", null, httpRequest.getRemoteAddr());
+
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "Provide a username or an email"));
+        }
+
+        try {
+            return ResponseEntity.ok(authService.checkAvailability(username, email));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Availability check failed: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("Backend is running!");
@@ -126,6 +175,12 @@ public class AuthController {
         return ResponseEntity.ok("This is a protected endpoint - you are authenticated!");
     }
 
+    @GetMapping("/metrics/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> passwordHashingMetrics() {
+        return ResponseEntity.ok(passwordEncoder.getStats());
+    }
+
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> adminEndpoint() {
@@ -0,0 +1,32 @@
+package com.mylittlepet.controller;
+
+import com.mylittlepet.service.impl.DevPasswordResetMailer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Local development only (profile "dev"): reads back the reset token the dev
+ * mailer "sent", standing in for the user's inbox in test_jwt_complete.ps1.
+ */
+@RestController
+@RequestMapping("/api/test")
+@Profile("dev")
+public class DevPasswordResetController {
+
+    @Autowired
+    private DevPasswordResetMailer devPasswordResetMailer;
+
+    // GET /api/test/password-reset-token?email= - Latest reset token sent to the email
+    @GetMapping("/password-reset-token")
+    public ResponseEntity<Map<String, String>> getLatestToken(@RequestParam String email) {
+        String token = devPasswordResetMailer.getLatestToken(email);
+        if (token == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("token", token));
+    }
+}
@@ -1,13 +1,21 @@
 package com.mylittlepet.controller;
 
+import com.mylittlepet.dto.ApiResponse;
 import com.mylittlepet.dto.PetDTO;
 import com.mylittlepet.service.PetService;
+import com.mylittlepet.service.ResponseSnapshotCache;
+import com.mylittlepet.util.SerializedResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/pets")
@@ -17,12 +25,21 @@ public class PetController {
     @Autowired
     private PetService petService;
 
+    @Autowired
+    private ResponseSnapshotCache responseSnapshotCache;
+
+    @Value("${pets.bulk.max-items:1000}")
+    private int maxBulkItems;
+
     // GET /api/pets - Get all pets
     @GetMapping
-    public ResponseEntity<List<PetDTO>> getAllPets() {
+    public ResponseEntity<byte[]> getAllPets(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<PetDTO> pets = petService.getAllPets();
-            return ResponseEntity.ok(pets);
+            // Pre-serialized and pre-compressed, rebuilt only when the catalog version changes
+            return responseSnapshotCache.get("pets", petService.getCatalogVersion(), petService::getAllPets)
+                    .toResponse(acceptEncoding, ifNoneMatch);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -30,11 +47,13 @@ public class PetController {
 
     // GET /api/pets/{id} - Get pet by ID
     @GetMapping("/{id}")
-    public ResponseEntity<PetDTO> getPetById(@PathVariable Integer id) {
+    public ResponseEntity<PetDTO> getPetById(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = etag();
             Optional<PetDTO> pet = petService.getPetById(id);
             if (pet.isPresent()) {
-                return ResponseEntity.ok(pet.get());
+                return cached(etag, ifNoneMatch, pet::get);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -45,10 +64,10 @@ public class PetController {
 
     // GET /api/pets/type/{type} - Get pets by type
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<PetDTO>> getPetsByType(@PathVariable String type) {
+    public ResponseEntity<List<PetDTO>> getPetsByType(@PathVariable String type,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<PetDTO> pets = petService.getPetsByType(type);
-            return ResponseEntity.ok(pets);
+            return cached(ifNoneMatch, () -> petService.getPetsByType(type));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -56,10 +75,10 @@ public class PetController {
 
     // GET /api/pets/status/{status} - Get pets by status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PetDTO>> getPetsByStatus(@PathVariable Integer status) {
+    public ResponseEntity<List<PetDTO>> getPetsByStatus(@PathVariable Integer status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<PetDTO> pets = petService.getPetsByStatus(status);
-            return ResponseEntity.ok(pets);
+            return cached(ifNoneMatch, () -> petService.getPetsByStatus(status));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -67,10 +86,10 @@ public class PetController {
 
     // GET /api/pets/search?keyword= - Search pets
     @GetMapping("/search")
-    public ResponseEntity<List<PetDTO>> searchPets(@RequestParam String keyword) {
+    public ResponseEntity<List<PetDTO>> searchPets(@RequestParam String keyword,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<PetDTO> pets = petService.searchPets(keyword);
-            return ResponseEntity.ok(pets);
+            return cached(ifNoneMatch, () -> petService.searchPets(keyword));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -106,9 +125,82 @@ public class PetController {
         }
     }
 
+    // POST /api/pets/bulk - Create many pets; body is an array of pets
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createPets(@RequestBody List<PetDTO> pets) {
+        ResponseEntity<?> invalid = checkBulkSize(pets);
+        if (invalid != null) {
+            return invalid;
+        }
+        try {
+            return ResponseEntity.ok(petService.createPets(pets));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // PUT /api/pets/bulk - Update many pets; body is an array of pets with petId, null fields are kept
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updatePets(@RequestBody List<PetDTO> pets) {
+        ResponseEntity<?> invalid = checkBulkSize(pets);
+        if (invalid != null) {
+            return invalid;
+        }
+        try {
+            return ResponseEntity.ok(petService.updatePets(pets));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // POST /api/pets/bulk-delete - Soft delete many pets; body is an array of pet ids
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<?> deletePets(@RequestBody List<Integer> petIds) {
+        ResponseEntity<?> invalid = checkBulkSize(petIds);
+        if (invalid != null) {
+            return invalid;
+        }
+        try {
+            return ResponseEntity.ok(petService.deletePets(petIds));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     // GET /api/pets/test - Test endpoint
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("Pet Management API is working!");
     }
+
+    // @return a 400 response if the bulk body is empty or too large, else null
+    private ResponseEntity<?> checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "At least one item is required"));
+        }
+        if (items.size() > maxBulkItems) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "At most " + maxBulkItems + " items per request"));
+        }
+        return null;
+    }
+
+    // Every read is derived from the catalog, so its version is the ETag of all of them
+    private <T> ResponseEntity<T> cached(String ifNoneMatch, Supplier<T> body) {
+        return cached(etag(), ifNoneMatch, body);
+    }
+
+    // The ETag is taken before the body is read, so a concurrent change can only make it stale (one
+    // extra full response later), never make an old body look current
+    private <T> ResponseEntity<T> cached(String etag, String ifNoneMatch, Supplier<T> body) {
+        if (SerializedResponse.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body.get());
+    }
+
+    private String etag() {
+        return "\"" + petService.getCatalogVersion() + "\"";
+    }
+
 }
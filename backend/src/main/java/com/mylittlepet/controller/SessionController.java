@@ -1,11 +1,22 @@
 package com.mylittlepet.controller;
 
 import com.mylittlepet.dto.ApiResponse;
+import com.mylittlepet.dto.RefreshTokenRequest;
+import com.mylittlepet.security.AdminSession;
+import com.mylittlepet.security.CredentialVersionCache;
 import com.mylittlepet.security.JwtTokenProvider;
+import com.mylittlepet.security.SessionRegistry;
+import com.mylittlepet.security.TokenRevocationService;
+import com.mylittlepet.security.VerifiedToken;
+import com.mylittlepet.security.VerifiedTokenCache;
+import com.mylittlepet.service.SessionEventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
@@ -25,6 +36,21 @@ public class SessionController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Autowired
+    private CredentialVersionCache credentialVersionCache;
+
+    @Autowired
+    private SessionEventService sessionEventService;
+
     /**
      * Get current session status including remaining time
      * 
@@ -41,16 +67,21 @@ public class SessionController {
                         .body(createErrorResponse("No valid token found"));
             }
 
-            if (!jwtTokenProvider.validateToken(token)) {
+            VerifiedToken verifiedToken = getVerifiedToken(request, token);
+            if (verifiedToken == null) {
                 return ResponseEntity.badRequest()
                         .body(createErrorResponse("Invalid or expired token"));
             }
 
-            long remainingTimeInMs = jwtTokenProvider.getRemainingTimeInMs(token);
-            boolean isAboutToExpire = jwtTokenProvider.isTokenAboutToExpire(token);
+            // Session-bound tokens are answered from the in-memory session registry
+            AdminSession session = sessionRegistry.getActiveSession(verifiedToken.getSessionId());
+            long remainingTimeInMs = session != null ? session.getRemainingTimeInMs()
+                    : jwtTokenProvider.getRemainingTimeInMs(verifiedToken);
+            boolean isAboutToExpire = jwtTokenProvider.isWithinWarningTime(remainingTimeInMs);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
+            response.put("accessTokenRemainingTimeInMs", jwtTokenProvider.getRemainingTimeInMs(verifiedToken));
             response.put("remainingTimeInMs", remainingTimeInMs);
             response.put("remainingTimeInMinutes", remainingTimeInMs / (1000 * 60));
             response.put("isAboutToExpire", isAboutToExpire);
@@ -67,30 +98,67 @@ public class SessionController {
     }
 
     /**
-     * Refresh the current session token
+     * Stream session events (text/event-stream) instead of polling /status:
+     * "status" on connect, "expiring" when the warning time is reached and
+     * "expired" when the session ends
      * 
      * @param request HTTP request containing JWT token
-     * @return New refreshed token with extended expiration
+     * @return Server-sent event stream for the current session
      */
-    @PostMapping("/refresh")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> refreshSession(HttpServletRequest request) {
+    public ResponseEntity<SseEmitter> streamSessionEvents(HttpServletRequest request) {
+        String token = extractTokenFromRequest(request);
+        VerifiedToken verifiedToken = token != null ? getVerifiedToken(request, token) : null;
+        if (verifiedToken == null || verifiedToken.getSessionId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = sessionEventService.subscribe(verifiedToken.getSessionId());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     * Each refresh token can be used once; the session is extended on every rotation.
+     * Public endpoint: the access token may already have expired when this is called.
+     * 
+     * @param refreshTokenRequest Body containing the current refresh token
+     * @return New access token and rotated refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshSession(
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
         try {
-            String token = extractTokenFromRequest(request);
-            if (token == null) {
+            if (refreshTokenRequest == null || refreshTokenRequest.getRefreshToken() == null
+                    || refreshTokenRequest.getRefreshToken().isBlank()) {
                 return ResponseEntity.badRequest()
-                        .body(createErrorResponse("No valid token found"));
+                        .body(createErrorResponse("Refresh token is required"));
             }
 
-            String newToken = jwtTokenProvider.refreshToken(token);
-            if (newToken == null) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("Failed to refresh token"));
+            SessionRegistry.IssuedSession issued = sessionRegistry.rotate(refreshTokenRequest.getRefreshToken());
+            if (issued == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(createErrorResponse("Invalid or expired refresh token"));
+            }
+
+            // Sessions do not survive a password or role change
+            AdminSession session = issued.getSession();
+            if (!credentialVersionCache.isCurrent(session.getEmail(), session.getCredentialVersion())) {
+                sessionRegistry.invalidate(session.getSessionId());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(createErrorResponse("Credentials changed, please log in again"));
             }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("token", newToken);
+            response.put("token", jwtTokenProvider.generateAccessToken(session));
+            response.put("refreshToken", issued.getRefreshToken());
+            response.put("expiresIn", jwtTokenProvider.getAccessTokenExpirationInMs());
+            response.put("sessionRemainingTimeInMs", session.getRemainingTimeInMs());
             response.put("message", "Session refreshed successfully");
 
             return ResponseEntity.ok(response);
@@ -111,8 +179,20 @@ public class SessionController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> logout(HttpServletRequest request) {
         try {
-            // In a more sophisticated implementation, you could maintain a blacklist
-            // of invalidated tokens or use Redis to track active sessions
+            String token = extractTokenFromRequest(request);
+            if (token == null) {
+                return ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, "No valid token found"));
+            }
+
+            // Revoke the token so it is rejected until it would have expired anyway
+            VerifiedToken verifiedToken = getVerifiedToken(request, token);
+            if (verifiedToken != null) {
+                tokenRevocationService.revoke(verifiedToken);
+                if (verifiedToken.getSessionId() != null) {
+                    sessionRegistry.invalidate(verifiedToken.getSessionId());
+                }
+            }
 
             return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
 
@@ -122,6 +202,20 @@ public class SessionController {
         }
     }
 
+    /**
+     * Get hit/miss statistics of the verified-token cache
+     * 
+     * @return Cache size, hit and miss counters and hit rate
+     */
+    @GetMapping("/token-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getTokenCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("stats", verifiedTokenCache.getStats());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
@@ -133,6 +227,18 @@ public class SessionController {
         return null;
     }
 
+    /**
+     * Reuse the token already verified by JwtAuthenticationFilter, falling back to
+     * parsing it here if the filter did not run for this request
+     */
+    private VerifiedToken getVerifiedToken(HttpServletRequest request, String token) {
+        Object attribute = request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+        if (attribute instanceof VerifiedToken verifiedToken && token.equals(verifiedToken.getToken())) {
+            return verifiedToken;
+        }
+        return jwtTokenProvider.parseToken(token);
+    }
+
     /**
      * Create standardized error response
      */
@@ -1,8 +1,10 @@
 package com.mylittlepet.controller;
 
 import com.mylittlepet.dto.ShopProductDTO;
+import com.mylittlepet.service.ResponseSnapshotCache;
 import com.mylittlepet.service.ShopProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,12 +20,31 @@ public class ShopProductController {
     @Autowired
     private ShopProductService shopProductService;
 
+    @Autowired
+    private ResponseSnapshotCache responseSnapshotCache;
+
     // GET /api/shop-products - Get all shop products
     @GetMapping
-    public ResponseEntity<List<ShopProductDTO>> getAllShopProducts() {
+    public ResponseEntity<byte[]> getAllShopProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<ShopProductDTO> shopProducts = shopProductService.getAllShopProducts();
-            return ResponseEntity.ok(shopProducts);
+            // Pre-serialized and pre-compressed, rebuilt only when the product data version changes
+            return responseSnapshotCache.get("shop-products", shopProductService.getCatalogVersion(),
+                    shopProductService::getAllShopProducts).toResponse(acceptEncoding, ifNoneMatch);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // GET /api/shop-products/active - Get active shop products
+    @GetMapping("/active")
+    public ResponseEntity<byte[]> getActiveShopProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            return responseSnapshotCache.get("shop-products/active", shopProductService.getCatalogVersion(),
+                    shopProductService::getActiveShopProducts).toResponse(acceptEncoding, ifNoneMatch);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -1,14 +1,45 @@
 package com.mylittlepet.controller;
 
+import com.mylittlepet.dto.ApiResponse;
+import com.mylittlepet.dto.BanRequest;
+import com.mylittlepet.dto.CurrencyDeltaRequest;
+import com.mylittlepet.dto.CursorPage;
+import com.mylittlepet.dto.LeaderboardEntry;
+import com.mylittlepet.dto.PlayerBatchGetRequest;
+import com.mylittlepet.dto.PlayerBatchGetResponse;
 import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.dto.PlayerImportReport;
+import com.mylittlepet.dto.PlayerPageRequest;
+import com.mylittlepet.dto.PlayerProfileDTO;
+import com.mylittlepet.service.CurrencyService;
+import com.mylittlepet.service.LeaderboardService;
+import com.mylittlepet.service.PlayerBanService;
+import com.mylittlepet.service.PlayerExportService;
+import com.mylittlepet.service.PlayerImportService;
 import com.mylittlepet.service.PlayerService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/players")
@@ -19,17 +50,187 @@ public class SimpleController {
     @Autowired
     private PlayerService playerService;
 
-    // GET /api/players - Get all players
+    @Autowired
+    private PlayerImportService playerImportService;
+
+    @Autowired
+    private PlayerExportService playerExportService;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private PlayerBanService playerBanService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Value("${players.leaderboard.max-size:100}")
+    private int maxLeaderboardSize;
+
+    @Value("${players.profile.default-pets:50}")
+    private int defaultProfilePets;
+
+    @Value("${players.profile.max-pets:200}")
+    private int maxProfilePets;
+
+    @Value("${players.batch-get.max-keys:5000}")
+    private int maxBatchKeys;
+
+    @Value("${currency.delta.max-amount:1000000}")
+    private int maxCurrencyDelta;
+
+    @Value("${players.export.timeout:600000}")
+    private long exportTimeoutMs;
+
+    // GET /api/players?cursor=&size=&keyword=&minLevel=&maxLevel=&sort=newest|oldest
+    // Keyset-paginated: pass the returned nextCursor to get the following page
     @GetMapping
-    public ResponseEntity<List<PlayerDTO>> getAllPlayers() {
+    public ResponseEntity<CursorPage<PlayerDTO>> getPlayers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer minLevel,
+            @RequestParam(required = false) Integer maxLevel,
+            @RequestParam(defaultValue = "newest") String sort) {
+        try {
+            PlayerPageRequest request = new PlayerPageRequest(cursor, size, keyword, minLevel, maxLevel,
+                    "oldest".equalsIgnoreCase(sort));
+            return ResponseEntity.ok(playerService.getPlayersPage(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // GET /api/players/leaderboards/{board}?limit=10 - Top players by level, coin, diamond or gem
+    @GetMapping("/leaderboards/{board}")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@PathVariable String board,
+            @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardService.Board parsed = LeaderboardService.Board.parse(board);
+        if (parsed == null || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(leaderboardService.getTop(parsed, Math.min(limit, maxLeaderboardSize)));
+    }
+
+    // GET /api/players/leaderboards/{board}/around?rank=50&radius=5 - Players ranked near a rank
+    @GetMapping("/leaderboards/{board}/around")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboardAround(@PathVariable String board,
+            @RequestParam int rank, @RequestParam(defaultValue = "5") int radius) {
+        LeaderboardService.Board parsed = LeaderboardService.Board.parse(board);
+        if (parsed == null || rank < 1 || radius < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        int clippedRadius = Math.min(radius, maxLeaderboardSize / 2);
+        return ResponseEntity.ok(leaderboardService.getAround(parsed, rank, clippedRadius));
+    }
+
+    // GET /api/players/leaderboards/{board}/players/{playerId} - A player's rank and score
+    @GetMapping("/leaderboards/{board}/players/{playerId}")
+    public ResponseEntity<LeaderboardEntry> getLeaderboardRank(@PathVariable String board,
+            @PathVariable Integer playerId) {
+        LeaderboardService.Board parsed = LeaderboardService.Board.parse(board);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.of(leaderboardService.getRank(parsed, playerId));
+    }
+
+    // POST /api/players/import?format=csv|ndjson - Bulk import from the raw request body (streamed)
+    // CSV needs a header with userName,email and optional level,coin,diamond,gem columns
+    @PostMapping("/import")
+    public ResponseEntity<PlayerImportReport> importPlayers(@RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        if (format == null) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.contains("json") ? "ndjson" : "csv";
+        }
+        if (!"csv".equalsIgnoreCase(format) && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            List<PlayerDTO> players = playerService.getAllPlayers();
-            return ResponseEntity.ok(players);
+            PlayerImportReport report = playerImportService.importPlayers(request.getInputStream(),
+                    format.toLowerCase());
+            return ResponseEntity.ok(report);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // GET /api/players/export?format=ndjson|csv - Stream all players
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPlayers(@RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return exportResponse(request, "players", csv, out -> playerExportService.exportPlayers(out, csv));
+    }
+
+    // GET /api/players/export/pets?format=ndjson|csv - Stream all owned pets (PlayerPet)
+    @GetMapping("/export/pets")
+    public ResponseEntity<StreamingResponseBody> exportPlayerPets(
+            @RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return exportResponse(request, "player-pets", csv, out -> playerExportService.exportPlayerPets(out, csv));
+    }
+
+    // Streams the body within a free export slot and export timeout; 429 when every slot is taken
+    private ResponseEntity<StreamingResponseBody> exportResponse(HttpServletRequest request, String name,
+            boolean csv, StreamingResponseBody body) {
+        if (!playerExportService.tryStartExport()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+
+        // This request only: streamed responses otherwise get the short default async timeout
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor("export-timeout",
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        ((AsyncWebRequest) webRequest).setTimeout(exportTimeoutMs);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(out -> {
+                    try {
+                        body.writeTo(out);
+                    } finally {
+                        playerExportService.exportFinished();
+                    }
+                });
+    }
+
+    // GET /api/players/import - Progress of running and recent imports (newest first)
+    @GetMapping("/import")
+    public ResponseEntity<List<PlayerImportReport>> getImportJobs() {
+        return ResponseEntity.ok(playerImportService.getRecentJobs());
+    }
+
+    // GET /api/players/import/{jobId} - Progress of one import
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<PlayerImportReport> getImportJob(@PathVariable String jobId) {
+        Optional<PlayerImportReport> report = playerImportService.getJob(jobId);
+        if (report.isPresent()) {
+            return ResponseEntity.ok(report.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // GET /api/players/{id} - Get player by ID
     @GetMapping("/{id}")
     public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Integer id) {
@@ -75,6 +276,35 @@ public class SimpleController {
         }
     }
 
+    // POST /api/players/batch-get - Look up many players at once by id, email or userName
+    // Body: {"by": "id", "keys": [...]}; players come back in key order, null where not found
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> getPlayersBatch(@RequestBody PlayerBatchGetRequest request) {
+        List<String> keys = request.getKeys();
+        if (keys == null || keys.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "keys is required"));
+        }
+        if (keys.size() > maxBatchKeys) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "At most " + maxBatchKeys + " keys per request"));
+        }
+
+        try {
+            List<PlayerDTO> players = playerService.getPlayersBatch(request.getBy(), keys);
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                if (players.get(i) == null) {
+                    missing.add(keys.get(i));
+                }
+            }
+            return ResponseEntity.ok(new PlayerBatchGetResponse(players, keys.size() - missing.size(), missing));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     // POST /api/players - Create new player
     @PostMapping
     public ResponseEntity<PlayerDTO> createPlayer(@RequestBody PlayerDTO playerDTO) {
@@ -88,9 +318,10 @@ public class SimpleController {
         }
     }
 
-    // PUT /api/players/{id} - Update player
+    // PUT /api/players/{id} - Update player; send back the version you read to
+    // get a 409 (with the current state) instead of overwriting someone else's change
     @PutMapping("/{id}")
-    public ResponseEntity<PlayerDTO> updatePlayer(@PathVariable Integer id, @RequestBody PlayerDTO playerDTO) {
+    public ResponseEntity<?> updatePlayer(@PathVariable Integer id, @RequestBody PlayerDTO playerDTO) {
         try {
             PlayerDTO updatedPlayer = playerService.updatePlayer(id, playerDTO);
             if (updatedPlayer != null) {
@@ -98,6 +329,12 @@ public class SimpleController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            response.put("current", playerService.getPlayerById(id).orElse(null));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
@@ -120,23 +357,65 @@ public class SimpleController {
         }
     }
 
-    // PUT /api/players/{id}/ban - Ban player
-    @PutMapping("/{id}/ban")
-    public ResponseEntity<PlayerDTO> banPlayer(@PathVariable Integer id) {
+    // POST /api/players/{id}/currency - Add signed coin/diamond/gem amounts atomically
+    @PostMapping("/{id}/currency")
+    public ResponseEntity<?> adjustCurrency(@PathVariable Integer id, @RequestBody CurrencyDeltaRequest request) {
+        int coin = request.getCoin() != null ? request.getCoin() : 0;
+        int diamond = request.getDiamond() != null ? request.getDiamond() : 0;
+        int gem = request.getGem() != null ? request.getGem() : 0;
+        if (coin == 0 && diamond == 0 && gem == 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "No currency change given"));
+        }
+        if (Math.abs((long) coin) > maxCurrencyDelta || Math.abs((long) diamond) > maxCurrencyDelta
+                || Math.abs((long) gem) > maxCurrencyDelta) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false,
+                    "Amounts must be between -" + maxCurrencyDelta + " and " + maxCurrencyDelta));
+        }
+
         try {
-            Optional<PlayerDTO> currentPlayer = playerService.getPlayerById(id);
-            if (currentPlayer.isEmpty()) {
-                return ResponseEntity.notFound().build();
+            CurrencyService.Result result = currencyService.applyDelta(id, coin, diamond, gem);
+            switch (result) {
+                case PLAYER_NOT_FOUND:
+                    return ResponseEntity.notFound().build();
+                case PLAYER_BANNED:
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                            .body(new ApiResponse(false, "Player is banned"));
+                case INSUFFICIENT_FUNDS:
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(new ApiResponse(false, "Insufficient balance"));
+                case BALANCE_LIMIT:
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(new ApiResponse(false, "Balance would exceed the maximum"));
+                default:
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("playerId", id);
+                    response.put("coin", coin);
+                    response.put("diamond", diamond);
+                    response.put("gem", gem);
+                    return ResponseEntity.ok(response);
             }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            PlayerDTO playerToUpdate = currentPlayer.get();
+    // PUT /api/players/{id}/ban - Ban player until banEndDate, or permanently without one
+    @PutMapping("/{id}/ban")
+    public ResponseEntity<?> banPlayer(@PathVariable Integer id,
+            @RequestBody(required = false) BanRequest request) {
+        Long endsAt = request != null && request.getBanEndDate() != null
+                ? request.getBanEndDate().toEpochMilli()
+                : null;
+        if (endsAt != null && endsAt <= System.currentTimeMillis()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "banEndDate must be in the future"));
+        }
 
-            PlayerDTO updatedPlayer = playerService.updatePlayer(id, playerToUpdate);
-            if (updatedPlayer != null) {
-                return ResponseEntity.ok(updatedPlayer);
-            } else {
+        try {
+            if (!playerBanService.ban(id, endsAt)) {
                 return ResponseEntity.notFound().build();
             }
+            return ResponseEntity.of(playerService.getPlayerById(id));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -146,18 +425,10 @@ public class SimpleController {
     @PutMapping("/{id}/unban")
     public ResponseEntity<PlayerDTO> unbanPlayer(@PathVariable Integer id) {
         try {
-            Optional<PlayerDTO> currentPlayer = playerService.getPlayerById(id);
-            if (currentPlayer.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            PlayerDTO playerToUpdate = currentPlayer.get();
-            PlayerDTO updatedPlayer = playerService.updatePlayer(id, playerToUpdate);
-            if (updatedPlayer != null) {
-                return ResponseEntity.ok(updatedPlayer);
-            } else {
+            if (!playerBanService.unban(id)) {
                 return ResponseEntity.notFound().build();
             }
+            return ResponseEntity.of(playerService.getPlayerById(id));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -168,6 +439,22 @@ public class SimpleController {
         return ResponseEntity.ok("Player Management API is working!");
     }
 
+    // GET /api/players/{id}/profile?petOffset=0&petLimit=50 - Player, pet count and a page of pets in one call
+    @GetMapping("/{id}/profile")
+    public ResponseEntity<PlayerProfileDTO> getPlayerProfile(@PathVariable Integer id,
+            @RequestParam(defaultValue = "0") int petOffset,
+            @RequestParam(defaultValue = "0") int petLimit) {
+        if (petOffset < 0 || petLimit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        int limit = petLimit == 0 ? defaultProfilePets : Math.min(petLimit, maxProfilePets);
+        try {
+            return ResponseEntity.of(playerService.getPlayerProfile(id, petOffset, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     // GET /api/players/{id}/pets - Get all pets owned by a specific player
     @GetMapping("/{id}/pets")
     public ResponseEntity<List<com.mylittlepet.dto.PlayerPetDTO>> getPlayerPets(@PathVariable Integer id) {
@@ -0,0 +1,135 @@
+package com.mylittlepet.dto;
+
+import java.util.Map;
+
+/**
+ * GET /api/admin/stats: dashboard totals served from in-memory rollups
+ */
+public class AdminStatsDTO {
+
+    private long totalPlayers;
+    private int bannedPlayers;
+    private long coinSupply;
+    private long diamondSupply;
+    private long gemSupply;
+    // yyyy-MM-dd -> players joined that day, for the last few days
+    private Map<String, Long> joinsByDay;
+
+    private int totalPets;
+    private Map<String, Long> petsByType;
+    private Map<String, Long> petsByStatus;
+
+    private long totalProducts;
+    private Map<String, Long> productsByStatus;
+    private Map<String, Long> productsByCurrency;
+
+    // Epoch ms of the last full recount against the database
+    private long reconciledAt;
+
+    public AdminStatsDTO() {
+    }
+
+    public long getTotalPlayers() {
+        return totalPlayers;
+    }
+
+    public void setTotalPlayers(long totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+
+    public int getBannedPlayers() {
+        return bannedPlayers;
+    }
+
+    public void setBannedPlayers(int bannedPlayers) {
+        this.bannedPlayers = bannedPlayers;
+    }
+
+    public long getCoinSupply() {
+        return coinSupply;
+    }
+
+    public void setCoinSupply(long coinSupply) {
+        this.coinSupply = coinSupply;
+    }
+
+    public long getDiamondSupply() {
+        return diamondSupply;
+    }
+
+    public void setDiamondSupply(long diamondSupply) {
+        this.diamondSupply = diamondSupply;
+    }
+
+    public long getGemSupply() {
+        return gemSupply;
+    }
+
+    public void setGemSupply(long gemSupply) {
+        this.gemSupply = gemSupply;
+    }
+
+    public Map<String, Long> getJoinsByDay() {
+        return joinsByDay;
+    }
+
+    public void setJoinsByDay(Map<String, Long> joinsByDay) {
+        this.joinsByDay = joinsByDay;
+    }
+
+    public int getTotalPets() {
+        return totalPets;
+    }
+
+    public void setTotalPets(int totalPets) {
+        this.totalPets = totalPets;
+    }
+
+    public Map<String, Long> getPetsByType() {
+        return petsByType;
+    }
+
+    public void setPetsByType(Map<String, Long> petsByType) {
+        this.petsByType = petsByType;
+    }
+
+    public Map<String, Long> getPetsByStatus() {
+        return petsByStatus;
+    }
+
+    public void setPetsByStatus(Map<String, Long> petsByStatus) {
+        this.petsByStatus = petsByStatus;
+    }
+
+    public long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public void setTotalProducts(long totalProducts) {
+        this.totalProducts = totalProducts;
+    }
+
+    public Map<String, Long> getProductsByStatus() {
+        return productsByStatus;
+    }
+
+    public void setProductsByStatus(Map<String, Long> productsByStatus) {
+        this.productsByStatus = productsByStatus;
+    }
+
+    public Map<String, Long> getProductsByCurrency() {
+        return productsByCurrency;
+    }
+
+    public void setProductsByCurrency(Map<String, Long> productsByCurrency) {
+        this.productsByCurrency = productsByCurrency;
+    }
+
+    public long getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(long reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
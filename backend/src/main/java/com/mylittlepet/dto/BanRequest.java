@@ -0,0 +1,23 @@
+package com.mylittlepet.dto;
+
+import java.time.Instant;
+
+/**
+ * Body of PUT /api/players/{id}/ban: when the ban ends (ISO-8601 instant),
+ * or no body / null for a permanent ban
+ */
+public class BanRequest {
+
+    private Instant banEndDate;
+
+    public BanRequest() {
+    }
+
+    public Instant getBanEndDate() {
+        return banEndDate;
+    }
+
+    public void setBanEndDate(Instant banEndDate) {
+        this.banEndDate = banEndDate;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mylittlepet.dto;
+
+/**
+ * Body of POST /api/players/{id}/currency: signed amounts to add (omitted = 0)
+ */
+public class CurrencyDeltaRequest {
+
+    private Integer coin;
+    private Integer diamond;
+    private Integer gem;
+
+    public CurrencyDeltaRequest() {
+    }
+
+    public Integer getCoin() {
+        return coin;
+    }
+
+    public void setCoin(Integer coin) {
+        this.coin = coin;
+    }
+
+    public Integer getDiamond() {
+        return diamond;
+    }
+
+    public void setDiamond(Integer diamond) {
+        this.diamond = diamond;
+    }
+
+    public Integer getGem() {
+        return gem;
+    }
+
+    public void setGem(Integer gem) {
+        this.gem = gem;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mylittlepet.dto;
+
+/**
+ * One leaderboard position (rank is 1-based)
+ */
+public class LeaderboardEntry {
+
+    private int rank;
+    private Integer playerId;
+    private String userName;
+    private long score;
+
+    public LeaderboardEntry() {
+    }
+
+    public LeaderboardEntry(int rank, Integer playerId, String userName, long score) {
+        this.rank = rank;
+        this.playerId = playerId;
+        this.userName = userName;
+        this.score = score;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Integer getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(Integer playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public void setScore(long score) {
+        this.score = score;
+    }
+}
@@ -5,6 +5,8 @@ public class LoginResponse {
     private boolean success;
     private String message;
     private String token;
+    private String refreshToken;
+    private long expiresIn; // access token lifetime in milliseconds
     private String tokenType = "Bearer";
     private AdminInfo adminInfo;
 
@@ -55,6 +57,22 @@ public class LoginResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public String getTokenType() {
         return tokenType;
     }
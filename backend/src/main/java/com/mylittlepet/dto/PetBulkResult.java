@@ -0,0 +1,103 @@
+package com.mylittlepet.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk pet create, update or delete: one result per input item,
+ * in input order
+ */
+public class PetBulkResult {
+
+    private int succeeded;
+    private int failed;
+    private List<Item> results = new ArrayList<>();
+
+    /**
+     * What happened to one input item
+     */
+    public static class Item {
+        private int index;
+        private Integer petId;
+        private String status; // CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+        private String message;
+        private PetDTO pet;
+
+        public Item() {
+        }
+
+        public Item(int index, Integer petId, String status, String message) {
+            this.index = index;
+            this.petId = petId;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Integer getPetId() {
+            return petId;
+        }
+
+        public void setPetId(Integer petId) {
+            this.petId = petId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public PetDTO getPet() {
+            return pet;
+        }
+
+        public void setPet(PetDTO pet) {
+            this.pet = pet;
+        }
+    }
+
+    public PetBulkResult() {
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+}
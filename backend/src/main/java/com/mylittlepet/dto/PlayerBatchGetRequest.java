@@ -0,0 +1,32 @@
+package com.mylittlepet.dto;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/players/batch-get: look up many players by one kind of key
+ * ("id", "email" or "userName")
+ */
+public class PlayerBatchGetRequest {
+
+    private String by = "id";
+    private List<String> keys;
+
+    public PlayerBatchGetRequest() {
+    }
+
+    public String getBy() {
+        return by;
+    }
+
+    public void setBy(String by) {
+        this.by = by;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<String> keys) {
+        this.keys = keys;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mylittlepet.dto;
+
+import java.util.List;
+
+/**
+ * Result of POST /api/players/batch-get: players[i] is the player for
+ * keys[i] of the request, or null if there is none (also listed in missing)
+ */
+public class PlayerBatchGetResponse {
+
+    private List<PlayerDTO> players;
+    private int found;
+    private List<String> missing;
+
+    public PlayerBatchGetResponse() {
+    }
+
+    public PlayerBatchGetResponse(List<PlayerDTO> players, int found, List<String> missing) {
+        this.players = players;
+        this.found = found;
+        this.missing = missing;
+    }
+
+    public List<PlayerDTO> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<PlayerDTO> players) {
+        this.players = players;
+    }
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+}
@@ -14,6 +14,9 @@ public class PlayerDTO {
     private Integer gem;
     private LocalDateTime joinDate;
     private Integer totalPets;
+    private Long version; // send back unchanged on update to detect concurrent edits
+    private String status; // ACTIVE or BANNED
+    private LocalDateTime banEndDate; // null while banned = permanent
 
     // Constructors
     public PlayerDTO() {
@@ -49,6 +52,7 @@ public class PlayerDTO {
         playerDTO.setGem(user.getGem());
         playerDTO.setJoinDate(user.getJoinDate());
         playerDTO.setTotalPets(0); // Default value, will be set by service
+        playerDTO.setVersion(user.getVersion());
 
         return playerDTO;
     }
@@ -69,6 +73,7 @@ public class PlayerDTO {
         playerDTO.setGem(user.getGem());
         playerDTO.setJoinDate(user.getJoinDate());
         playerDTO.setTotalPets(totalPets != null ? totalPets : 0);
+        playerDTO.setVersion(user.getVersion());
 
         return playerDTO;
     }
@@ -163,4 +168,28 @@ public class PlayerDTO {
     public void setTotalPets(Integer totalPets) {
         this.totalPets = totalPets;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getBanEndDate() {
+        return banEndDate;
+    }
+
+    public void setBanEndDate(LocalDateTime banEndDate) {
+        this.banEndDate = banEndDate;
+    }
 }
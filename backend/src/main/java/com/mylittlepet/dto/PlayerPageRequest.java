@@ -0,0 +1,75 @@
+package com.mylittlepet.dto;
+
+/**
+ * Filters, sort and position for GET /api/players
+ */
+public class PlayerPageRequest {
+
+    private String cursor;
+    private int size;
+    private String keyword;
+    private Integer minLevel;
+    private Integer maxLevel;
+    private boolean ascending;
+
+    public PlayerPageRequest() {
+    }
+
+    public PlayerPageRequest(String cursor, int size, String keyword, Integer minLevel, Integer maxLevel,
+            boolean ascending) {
+        this.cursor = cursor;
+        this.size = size;
+        this.keyword = keyword;
+        this.minLevel = minLevel;
+        this.maxLevel = maxLevel;
+        this.ascending = ascending;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public Integer getMinLevel() {
+        return minLevel;
+    }
+
+    public void setMinLevel(Integer minLevel) {
+        this.minLevel = minLevel;
+    }
+
+    public Integer getMaxLevel() {
+        return maxLevel;
+    }
+
+    public void setMaxLevel(Integer maxLevel) {
+        this.maxLevel = maxLevel;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public void setAscending(boolean ascending) {
+        this.ascending = ascending;
+    }
+}
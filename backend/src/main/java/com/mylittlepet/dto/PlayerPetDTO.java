@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 public class PlayerPetDTO {
     private Integer playerPetId;
+    private Integer petId;
     private String petCustomName;
     private LocalDateTime adoptedAt;
 
@@ -23,6 +24,14 @@ public class PlayerPetDTO {
         this.playerPetId = playerPetId;
     }
 
+    public Integer getPetId() {
+        return petId;
+    }
+
+    public void setPetId(Integer petId) {
+        this.petId = petId;
+    }
+
     public String getPetCustomName() {
         return petCustomName;
     }
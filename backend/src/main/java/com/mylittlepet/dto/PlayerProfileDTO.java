@@ -0,0 +1,57 @@
+package com.mylittlepet.dto;
+
+import java.util.List;
+
+/**
+ * GET /api/players/{id}/profile: the player (with totalPets) and one page of
+ * their pets, newest first
+ */
+public class PlayerProfileDTO {
+
+    private PlayerDTO player;
+    private List<PlayerPetDTO> pets;
+    private int petOffset;
+    private boolean hasMorePets;
+
+    public PlayerProfileDTO() {
+    }
+
+    public PlayerProfileDTO(PlayerDTO player, List<PlayerPetDTO> pets, int petOffset, boolean hasMorePets) {
+        this.player = player;
+        this.pets = pets;
+        this.petOffset = petOffset;
+        this.hasMorePets = hasMorePets;
+    }
+
+    public PlayerDTO getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(PlayerDTO player) {
+        this.player = player;
+    }
+
+    public List<PlayerPetDTO> getPets() {
+        return pets;
+    }
+
+    public void setPets(List<PlayerPetDTO> pets) {
+        this.pets = pets;
+    }
+
+    public int getPetOffset() {
+        return petOffset;
+    }
+
+    public void setPetOffset(int petOffset) {
+        this.petOffset = petOffset;
+    }
+
+    public boolean isHasMorePets() {
+        return hasMorePets;
+    }
+
+    public void setHasMorePets(boolean hasMorePets) {
+        this.hasMorePets = hasMorePets;
+    }
+}
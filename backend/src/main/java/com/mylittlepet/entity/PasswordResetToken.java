@@ -3,6 +3,7 @@ package com.mylittlepet.entity;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+// Column types and indexes are defined in db/schema.sql (ddl-auto=none)
 @Entity
 @Table(name = "password_reset_tokens")
 public class PasswordResetToken {
@@ -11,7 +12,8 @@ public class PasswordResetToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    // SHA-256 hex digest of the token sent to the user
+    @Column(nullable = false, unique = true, length = 64)
     private String token;
 
     @Column(nullable = false)
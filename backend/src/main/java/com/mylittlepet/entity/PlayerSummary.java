@@ -0,0 +1,38 @@
+package com.mylittlepet.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Read-only mapping of the player_summary read model (maintained by a
+ * trigger on PlayerPet and by PlayerSummaryReconciler), for use in JPQL joins
+ */
+@Entity
+@Table(name = "player_summary")
+@org.hibernate.annotations.Immutable
+public class PlayerSummary {
+
+    @Id
+    @Column(name = "PlayerID")
+    private Integer playerId;
+
+    @Column(name = "TotalPets", nullable = false)
+    private Integer totalPets;
+
+    @Column(name = "UpdatedAt", nullable = false)
+    private Long updatedAt;
+
+    public PlayerSummary() {
+    }
+
+    public Integer getPlayerId() {
+        return playerId;
+    }
+
+    public Integer getTotalPets() {
+        return totalPets;
+    }
+
+    public Long getUpdatedAt() {
+        return updatedAt;
+    }
+}
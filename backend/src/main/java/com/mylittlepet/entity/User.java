@@ -46,6 +46,15 @@ public class User {
     @Column(name = "JoinDate")
     private LocalDateTime joinDate;
 
+    // Bumped on every password change; part of the credential version tokens carry
+    @Column(name = "PasswordVersion", nullable = false)
+    private Integer passwordVersion = 0;
+
+    // Optimistic concurrency: bumped by every write to the row
+    @Version
+    @Column(name = "Version", nullable = false)
+    private Long version;
+
     // Constructors
     public User() {
     }
@@ -149,4 +158,20 @@ public class User {
     public void setJoinDate(LocalDateTime joinDate) {
         this.joinDate = joinDate;
     }
+
+    public Integer getPasswordVersion() {
+        return passwordVersion;
+    }
+
+    public void setPasswordVersion(Integer passwordVersion) {
+        this.passwordVersion = passwordVersion;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -2,6 +2,7 @@ package com.mylittlepet.exception;
 
 import com.mylittlepet.dto.ApiResponse;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,6 +31,44 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse(false, ex.getMessage()));
     }
 
+    /**
+     * Handle password hashing pool saturation (load shedding)
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ApiResponse> handlePasswordHashingOverloaded(
+            PasswordHashingOverloadedException ex, WebRequest request) {
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
+    /**
+     * Handle password reset requests when no mail delivery is configured
+     */
+    @ExceptionHandler(PasswordResetUnavailableException.class)
+    public ResponseEntity<ApiResponse> handlePasswordResetUnavailable(
+            PasswordResetUnavailableException ex, WebRequest request) {
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
+    /**
+     * Handle rate-limited auth attempts
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse> handleRateLimitExceeded(
+            RateLimitExceededException ex, WebRequest request) {
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
     /**
      * Handle database integrity violations (including unique constraints)
      */
@@ -0,0 +1,20 @@
+package com.mylittlepet.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login, registration
+ * or password reset is shed instead of queued
+ * Mapped to HTTP 503 with a Retry-After header
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(long retryAfterSeconds) {
+        super("Server is busy, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,13 @@
+package com.mylittlepet.exception;
+
+/**
+ * Thrown when a password reset is requested but no way to deliver the token
+ * is configured
+ * Mapped to HTTP 503
+ */
+public class PasswordResetUnavailableException extends RuntimeException {
+
+    public PasswordResetUnavailableException() {
+        super("Password reset is not available: no mail delivery is configured");
+    }
+}
@@ -0,0 +1,20 @@
+package com.mylittlepet.exception;
+
+/**
+ * Thrown when a client exceeds the allowed rate of login, registration or
+ * password reset attempts
+ * Mapped to HTTP 429 with a Retry-After header
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Too many attempts, please retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
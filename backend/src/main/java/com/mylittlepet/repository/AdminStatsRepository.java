@@ -0,0 +1,46 @@
+package com.mylittlepet.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Full recounts behind the admin dashboard rollups; each is a single
+ * aggregate query, used at startup and for periodic reconciliation.
+ */
+@Repository
+public class AdminStatsRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Player count, total coin, diamond and gem supply, and banned player count
+    public long[] sumPlayers() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) AS Players, " +
+                "COALESCE(SUM(CAST(Coin AS BIGINT)), 0) AS Coin, COALESCE(SUM(CAST(Diamond AS BIGINT)), 0) AS Diamond, " +
+                "COALESCE(SUM(CAST(Gem AS BIGINT)), 0) AS Gem, " +
+                "COALESCE(SUM(CASE WHEN Status = 'BANNED' THEN 1 ELSE 0 END), 0) AS Banned " +
+                "FROM [User] WHERE Role = 'Player'",
+                (rs, rowNum) -> new long[] { rs.getLong("Players"), rs.getLong("Coin"), rs.getLong("Diamond"),
+                        rs.getLong("Gem"), rs.getLong("Banned") });
+    }
+
+    // Players joined per day since the given date (server time zone)
+    public void countJoinsByDay(LocalDate since, Map<LocalDate, Long> into) {
+        jdbcTemplate.query("SELECT CAST(JoinDate AS DATE) AS JoinDay, COUNT(*) AS Joins FROM [User] " +
+                "WHERE Role = 'Player' AND JoinDate >= ? GROUP BY CAST(JoinDate AS DATE)",
+                (RowCallbackHandler) rs -> into.put(rs.getDate("JoinDay").toLocalDate(), rs.getLong("Joins")),
+                Timestamp.valueOf(since.atStartOfDay()));
+    }
+
+    // Shop product counts per (Status, CurrencyType) pair
+    public void countProducts(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT Status, CurrencyType, COUNT(*) AS Products FROM ShopProduct " +
+                "GROUP BY Status, CurrencyType", handler);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mylittlepet.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cluster-wide settings in the app_settings table: values every node must
+ * agree on, decided once and then read by all nodes.
+ */
+@Repository
+public class AppSettingRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Optional<String> find(String key) {
+        List<String> values = jdbcTemplate.queryForList(
+                "SELECT SettingValue FROM app_settings WHERE SettingKey = ?", String.class, key);
+        return values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.get(0));
+    }
+
+    /**
+     * Store a value unless the key already has one
+     *
+     * @return the value now stored: the given one, or the one another node stored first
+     */
+    public String putIfAbsent(String key, String value) {
+        try {
+            jdbcTemplate.update("IF NOT EXISTS (SELECT 1 FROM app_settings WHERE SettingKey = ?) " +
+                    "INSERT INTO app_settings (SettingKey, SettingValue, UpdatedAt) VALUES (?, ?, ?)",
+                    key, key, value, System.currentTimeMillis());
+        } catch (DuplicateKeyException e) {
+            // Another node inserted it between the check and the insert
+        }
+        return find(key).orElse(value);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.util.SqlParameters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ranked player fields (ID, UserName, Version, Level, Coin, Diamond, Gem)
+ * for loading and refreshing the in-memory leaderboards.
+ */
+@Repository
+public class LeaderboardRepository {
+
+    private static final String STANDING_COLUMNS = "SELECT ID, UserName, Version, Level, Coin, Diamond, Gem " +
+            "FROM [User] WHERE Role = 'Player'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Stream every player row to the handler (forward-only, fetched 1000 at a time)
+    public void forEachStanding(RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STANDING_COLUMNS);
+            ps.setFetchSize(1000);
+            return ps;
+        }, handler);
+    }
+
+    public void forEachStandingById(Collection<Integer> playerIds, RowCallbackHandler handler) {
+        forEachIn("ID", new ArrayList<>(playerIds), handler);
+    }
+
+    public void forEachStandingByEmail(Collection<String> emails, RowCallbackHandler handler) {
+        forEachIn("Email", new ArrayList<>(emails), handler);
+    }
+
+    private void forEachIn(String column, List<?> values, RowCallbackHandler handler) {
+        for (List<?> slice : SqlParameters.slices(values)) {
+            jdbcTemplate.query(STANDING_COLUMNS + " AND " + column + " IN (" +
+                    SqlParameters.placeholders(slice.size()) + ")", handler, slice.toArray());
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
+    // Looks up by SHA-256 hex digest, never by the raw token
     Optional<PasswordResetToken> findByToken(String token);
 
     Optional<PasswordResetToken> findByEmail(String email);
@@ -28,6 +29,13 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     @Query("DELETE FROM PasswordResetToken p WHERE p.expiryDate < :now")
     void deleteExpiredTokens(@Param("now") LocalDateTime now);
 
+    // Bounded delete (SQL Server DELETE TOP); returns the number of rows removed
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE TOP (:batchSize) FROM password_reset_tokens WHERE expiryDate < :now OR used = 1",
+            nativeQuery = true)
+    int deleteExpiredOrUsedBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
     boolean existsByToken(String token);
 
     boolean existsByEmail(String email);
@@ -0,0 +1,100 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.dto.PetDTO;
+import com.mylittlepet.util.SqlParameters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based Pet writes for the bulk endpoints. Callers run them inside one
+ * transaction.
+ *
+ * Pet uses an IDENTITY key, which rules out Hibernate insert batching, so
+ * inserts are multi-row MERGE statements that OUTPUT each new PetID next to
+ * its position in the input; updates are one JDBC batch; soft deletes are
+ * UPDATE ... WHERE PetID IN (...).
+ */
+@Repository
+public class PetBulkRepository {
+
+    // Parameters bound per inserted pet
+    private static final int INSERT_PARAMETERS = 6;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert pets (null status = 1)
+     *
+     * @return the new PetIDs, in input order
+     */
+    public List<Integer> insertPets(List<PetDTO> pets) {
+        Integer[] ids = new Integer[pets.size()];
+        int from = 0;
+        for (List<PetDTO> slice : SqlParameters.slices(pets, INSERT_PARAMETERS)) {
+            List<Object> params = new ArrayList<>();
+            for (int i = 0; i < slice.size(); i++) {
+                PetDTO pet = slice.get(i);
+                params.add(from + i);
+                params.add(pet.getAdminId());
+                params.add(pet.getPetType());
+                params.add(pet.getPetDefaultName());
+                params.add(pet.getDescription());
+                params.add(pet.getPetStatus() != null ? pet.getPetStatus() : 1);
+            }
+            // MERGE (unlike INSERT) can OUTPUT source columns, which ties each identity to its row.
+            // The casts keep the VALUES column types fixed when some rows pass nulls.
+            jdbcTemplate.query("MERGE Pet AS p USING (VALUES " + SqlParameters.placeholders(slice.size(),
+                    "(?, CAST(? AS INT), CAST(? AS NVARCHAR(50)), CAST(? AS NVARCHAR(50)), " +
+                            "CAST(? AS NVARCHAR(MAX)), CAST(? AS INT))") +
+                    ") AS src (Ord, AdminID, PetType, PetDefaultName, Description, PetStatus) ON 1 = 0 " +
+                    "WHEN NOT MATCHED THEN INSERT (AdminID, PetType, PetDefaultName, Description, PetStatus) " +
+                    "VALUES (src.AdminID, src.PetType, src.PetDefaultName, src.Description, src.PetStatus) " +
+                    "OUTPUT src.Ord, INSERTED.PetID;", rs -> {
+                        ids[rs.getInt(1)] = rs.getInt(2);
+                    }, params.toArray());
+            from += slice.size();
+        }
+        List<Integer> result = new ArrayList<>(pets.size());
+        Collections.addAll(result, ids);
+        return result;
+    }
+
+    /**
+     * Update pets by petId; null fields are left unchanged
+     *
+     * @return rows updated per pet, in input order (0 = no such pet)
+     */
+    public int[] updatePets(List<PetDTO> pets) {
+        List<Object[]> params = new ArrayList<>(pets.size());
+        for (PetDTO pet : pets) {
+            params.add(new Object[] { pet.getPetType(), pet.getPetDefaultName(), pet.getDescription(),
+                    pet.getPetStatus(), pet.getPetId() });
+        }
+        return jdbcTemplate.batchUpdate("UPDATE Pet SET PetType = COALESCE(?, PetType), " +
+                "PetDefaultName = COALESCE(?, PetDefaultName), Description = COALESCE(?, Description), " +
+                "PetStatus = COALESCE(?, PetStatus) WHERE PetID = ?", params);
+    }
+
+    /**
+     * Soft delete (PetStatus = 0)
+     *
+     * @return the ids that matched a pet
+     */
+    public Set<Integer> softDeletePets(List<Integer> petIds) {
+        Set<Integer> deleted = new HashSet<>();
+        for (List<Integer> slice : SqlParameters.slices(petIds)) {
+            deleted.addAll(jdbcTemplate.queryForList("UPDATE Pet SET PetStatus = 0 OUTPUT INSERTED.PetID " +
+                    "WHERE PetID IN (" + SqlParameters.placeholders(slice.size()) + ")",
+                    Integer.class, slice.toArray()));
+        }
+        return deleted;
+    }
+}
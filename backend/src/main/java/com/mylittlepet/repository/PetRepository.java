@@ -14,6 +14,12 @@ import java.util.Optional;
 @Repository
 public interface PetRepository extends JpaRepository<Pet, Integer> {
 
+        // Row count and aggregate checksum of the Pet table: a cheap check for changes made elsewhere
+        @Query(value = "SELECT CAST(COUNT_BIG(*) AS VARCHAR(20)) + ':' + " +
+                        "CAST(COALESCE(CHECKSUM_AGG(BINARY_CHECKSUM(*)), 0) AS VARCHAR(20)) FROM Pet",
+                        nativeQuery = true)
+        String findCatalogChecksum();
+
         // Find all pets
         @Query("SELECT p FROM Pet p ORDER BY p.petId DESC")
         List<Pet> findAllPets();
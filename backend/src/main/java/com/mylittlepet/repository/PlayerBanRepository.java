@@ -0,0 +1,76 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.util.SqlParameters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ban state stored on the player row: [User].Status ('ACTIVE' or 'BANNED')
+ * and [User].BanEndsAt (epoch ms; NULL while banned means permanent).
+ */
+@Repository
+public class PlayerBanRepository {
+
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    public static final String STATUS_BANNED = "BANNED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ban a player
+     *
+     * @param endsAt epoch ms when the ban ends, or null for a permanent ban
+     * @return the status before the ban, or null if there is no such player
+     */
+    public String ban(Integer playerId, Long endsAt) {
+        return previousStatus(jdbcTemplate.queryForList("UPDATE [User] SET Status = 'BANNED', BanEndsAt = ?, " +
+                "Version = Version + 1 OUTPUT DELETED.Status WHERE ID = ? AND Role = 'Player'", String.class,
+                endsAt, playerId));
+    }
+
+    // @return the status before the unban, or null if there is no such player
+    public String unban(Integer playerId) {
+        return previousStatus(jdbcTemplate.queryForList("UPDATE [User] SET Status = 'ACTIVE', BanEndsAt = NULL, " +
+                "Version = Version + 1 OUTPUT DELETED.Status WHERE ID = ? AND Role = 'Player'", String.class,
+                playerId));
+    }
+
+    // playerId -> ban end (null = permanent) for every banned player
+    public Map<Integer, Long> findActiveBans() {
+        Map<Integer, Long> bans = new HashMap<>();
+        jdbcTemplate.query("SELECT ID, BanEndsAt FROM [User] WHERE Status = 'BANNED' AND Role = 'Player'",
+                rs -> {
+                    long endsAt = rs.getLong("BanEndsAt");
+                    bans.put(rs.getInt("ID"), rs.wasNull() ? null : endsAt);
+                });
+        return bans;
+    }
+
+    /**
+     * Lift the given bans if they have ended by now; bans that were extended
+     * or made permanent in the meantime are left alone
+     *
+     * @return number of players unbanned
+     */
+    public int liftExpired(List<Integer> playerIds, long now) {
+        int lifted = 0;
+        for (List<Integer> slice : SqlParameters.slices(playerIds)) {
+            List<Object> params = new ArrayList<>(slice);
+            params.add(now);
+            lifted += jdbcTemplate.update("UPDATE [User] SET Status = 'ACTIVE', BanEndsAt = NULL, " +
+                    "Version = Version + 1 WHERE ID IN (" + SqlParameters.placeholders(slice.size()) + ") AND Status = 'BANNED' AND BanEndsAt <= ?", params.toArray());
+        }
+        return lifted;
+    }
+
+    private static String previousStatus(List<String> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
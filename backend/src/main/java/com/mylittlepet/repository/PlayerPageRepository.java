@@ -0,0 +1,93 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.dto.PlayerPageRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paginated player listing on (JoinDate, ID).
+ *
+ * Each page is a TOP (n) seek past the last row of the previous page, so the
+ * cost of a page does not grow with its position. Pet counts come from the
+ * player_summary read model by primary key, and the password column is never
+ * read.
+ */
+@Repository
+public class PlayerPageRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fetch up to limit players after the given position
+     *
+     * @param request        filters and sort direction
+     * @param afterPosition  true to start after (afterJoinDate, afterId); false for the first page
+     * @param afterJoinDate  JoinDate of the last row of the previous page (may be null)
+     * @param afterId        ID of the last row of the previous page
+     * @param limit          maximum number of rows
+     */
+    public List<PlayerDTO> findPage(PlayerPageRequest request, boolean afterPosition, LocalDateTime afterJoinDate,
+            Integer afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT TOP (?) " + PlayerSummaryRepository.PLAYER_COLUMNS
+                + PlayerSummaryRepository.PLAYER_FROM + " WHERE u.Role = 'Player'");
+        List<Object> params = new ArrayList<>();
+        params.add(limit);
+
+        if (request.getKeyword() != null && !request.getKeyword().isBlank()) {
+            String pattern = "%" + escapeLike(request.getKeyword().trim()) + "%";
+            sql.append(" AND (u.UserName LIKE ? OR u.Email LIKE ?)");
+            params.add(pattern);
+            params.add(pattern);
+        }
+        if (request.getMinLevel() != null) {
+            sql.append(" AND u.Level >= ?");
+            params.add(request.getMinLevel());
+        }
+        if (request.getMaxLevel() != null) {
+            sql.append(" AND u.Level <= ?");
+            params.add(request.getMaxLevel());
+        }
+
+        // SQL Server sorts NULL JoinDates first ascending and last descending
+        if (afterPosition) {
+            if (request.isAscending()) {
+                if (afterJoinDate == null) {
+                    sql.append(" AND ((u.JoinDate IS NULL AND u.ID > ?) OR u.JoinDate IS NOT NULL)");
+                    params.add(afterId);
+                } else {
+                    sql.append(" AND (u.JoinDate > ? OR (u.JoinDate = ? AND u.ID > ?))");
+                    params.add(Timestamp.valueOf(afterJoinDate));
+                    params.add(Timestamp.valueOf(afterJoinDate));
+                    params.add(afterId);
+                }
+            } else {
+                if (afterJoinDate == null) {
+                    sql.append(" AND u.JoinDate IS NULL AND u.ID < ?");
+                    params.add(afterId);
+                } else {
+                    sql.append(" AND (u.JoinDate < ? OR (u.JoinDate = ? AND u.ID < ?) OR u.JoinDate IS NULL)");
+                    params.add(Timestamp.valueOf(afterJoinDate));
+                    params.add(Timestamp.valueOf(afterJoinDate));
+                    params.add(afterId);
+                }
+            }
+        }
+
+        sql.append(request.isAscending() ? " ORDER BY u.JoinDate ASC, u.ID ASC" : " ORDER BY u.JoinDate DESC, u.ID DESC");
+
+        return jdbcTemplate.query(sql.toString(), PlayerSummaryRepository.PLAYER_ROW_MAPPER, params.toArray());
+    }
+
+    // Treat LIKE wildcards in user input literally (SQL Server bracket escaping)
+    private static String escapeLike(String value) {
+        return value.replace("[", "[[]").replace("%", "[%]").replace("_", "[_]");
+    }
+}
@@ -1,12 +1,16 @@
 package com.mylittlepet.repository;
 
 import com.mylittlepet.entity.PlayerPet;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PlayerPetRepository extends JpaRepository<PlayerPet, Integer> { // Get all pets owned by a specific
@@ -18,6 +22,16 @@ public interface PlayerPetRepository extends JpaRepository<PlayerPet, Integer> {
                         "ORDER BY pp.adoptedAt DESC")
         List<Object[]> findPlayerPetsWithDetails(@Param("playerId") Integer playerId);
 
+        // Stream every owned pet with its catalog name for export (playerPetId, playerId, petId,
+        // petCustomName, status, adoptedAt, lastStatusUpdate, petDefaultName); consume inside a transaction
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+        @Query("SELECT pp.playerPetId, pp.playerId, pp.petId, pp.petCustomName, pp.status, pp.adoptedAt, " +
+                        "pp.lastStatusUpdate, p.petDefaultName " +
+                        "FROM PlayerPet pp LEFT JOIN Pet p ON pp.petId = p.petId ORDER BY pp.playerPetId")
+        Stream<Object[]> streamAllWithPetNames();
+
         // Count total pets by player ID
         @Query("SELECT COUNT(pp.playerPetId) FROM PlayerPet pp WHERE pp.playerId = :playerId")
         Integer countByPlayerId(@Param("playerId") Integer playerId);
@@ -0,0 +1,79 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.dto.PlayerPetDTO;
+import com.mylittlepet.dto.PlayerProfileDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Player profile in one round trip: a two-statement batch returning the player
+ * row (pet count from player_summary) and then one page of their pets.
+ *
+ * Pets are read from PlayerPet alone; catalog names are filled in by the
+ * caller from the in-memory PetCatalog.
+ */
+@Repository
+public class PlayerProfileRepository {
+
+    private static final String PROFILE_SQL = "SELECT " + PlayerSummaryRepository.PLAYER_COLUMNS
+            + PlayerSummaryRepository.PLAYER_FROM + " WHERE u.ID = ? AND u.Role = 'Player'; "
+            + "SELECT PlayerPetID, PetID, PetCustomName, AdoptedAt FROM PlayerPet WHERE PlayerID = ? "
+            + "ORDER BY AdoptedAt DESC, PlayerPetID DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Player plus pets [offset, offset + limit) ordered newest first
+     *
+     * @return the player and the pet page (petDefaultName unset, hasMorePets false),
+     *         or empty if there is no such player
+     */
+    public Optional<PlayerProfileDTO> findProfile(Integer playerId, int offset, int limit) {
+        return jdbcTemplate.execute(PROFILE_SQL, (PreparedStatementCallback<Optional<PlayerProfileDTO>>) ps -> {
+            ps.setInt(1, playerId);
+            ps.setInt(2, playerId);
+            ps.setInt(3, offset);
+            ps.setInt(4, limit);
+
+            boolean isResultSet = ps.execute();
+            PlayerDTO player = null;
+            List<PlayerPetDTO> pets = new ArrayList<>();
+            int resultSets = 0;
+            while (isResultSet || ps.getUpdateCount() != -1) {
+                if (isResultSet) {
+                    try (ResultSet rs = ps.getResultSet()) {
+                        if (resultSets == 0) {
+                            if (rs.next()) {
+                                player = PlayerSummaryRepository.PLAYER_ROW_MAPPER.mapRow(rs, 0);
+                            }
+                        } else {
+                            while (rs.next()) {
+                                PlayerPetDTO pet = new PlayerPetDTO();
+                                pet.setPlayerPetId(rs.getInt("PlayerPetID"));
+                                pet.setPetCustomName(rs.getString("PetCustomName"));
+                                Timestamp adoptedAt = rs.getTimestamp("AdoptedAt");
+                                pet.setAdoptedAt(adoptedAt != null ? adoptedAt.toLocalDateTime() : null);
+                                pet.setPetId((Integer) rs.getObject("PetID"));
+                                pets.add(pet);
+                            }
+                        }
+                    }
+                    resultSets++;
+                }
+                isResultSet = ps.getMoreResults();
+            }
+            return player != null ? Optional.of(new PlayerProfileDTO(player, pets, offset, false))
+                    : Optional.empty();
+        });
+    }
+}
@@ -1,15 +1,20 @@
 package com.mylittlepet.repository;
 
+import com.mylittlepet.dto.PlayerDTO;
 import com.mylittlepet.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<User, Integer> {
@@ -17,18 +22,19 @@ public interface PlayerRepository extends JpaRepository<User, Integer> {
         @Query("SELECT u FROM User u WHERE u.role = 'Player' ORDER BY u.joinDate DESC")
         List<User> findAllPlayers();
 
-        // Find all players with total pets count
-        @Query("SELECT u, CAST(COUNT(pp.playerPetId) AS int) FROM User u " +
-                        "LEFT JOIN PlayerPet pp ON u.id = pp.playerId " +
-                        "WHERE u.role = 'Player' " +
-                        "GROUP BY u.id, u.role, u.userName, u.email, u.password, u.level, u.coin, u.diamond, u.gem, u.joinDate "
-                        +
-                        "ORDER BY u.joinDate DESC")
-        List<Object[]> findAllPlayersWithPetCount();
-
-        // Get total pets count for a specific player
-        @Query("SELECT COUNT(pp.playerPetId) FROM PlayerPet pp WHERE pp.playerId = :playerId")
-        Integer getTotalPetsByPlayerId(@Param("playerId") Integer playerId);
+        // Stream all players as DTOs (unmanaged, so the persistence context does not grow) for export;
+        // must be consumed inside a transaction and closed. Players the summary has not reached yet are
+        // counted live, as in PlayerSummaryRepository.PLAYER_COLUMNS
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+        @Query("SELECT new com.mylittlepet.dto.PlayerDTO(u.id, u.userName, u.email, u.level, u.coin, u.diamond, " +
+                        "u.gem, u.joinDate, " +
+                        "COALESCE(s.totalPets, " +
+                        "CAST((SELECT COUNT(pp) FROM PlayerPet pp WHERE pp.playerId = u.id) AS Integer))) " +
+                        "FROM User u LEFT JOIN PlayerSummary s ON s.playerId = u.id " +
+                        "WHERE u.role = 'Player' ORDER BY u.id")
+        Stream<PlayerDTO> streamAllPlayers();
 
         // Find player by ID (must be Player role) - including JoinDate
         @Query("SELECT u FROM User u WHERE u.id = :id AND u.role = 'Player'")
@@ -46,7 +52,7 @@ public interface PlayerRepository extends JpaRepository<User, Integer> {
         // Update player information
         @Modifying
         @Transactional
-        @Query("UPDATE User u SET u.userName = :userName, u.email = :email, u.level = :level, u.coin = :coin, u.diamond = :diamond, u.gem = :gem WHERE u.id = :id AND u.role = 'Player'")
+        @Query("UPDATE User u SET u.userName = :userName, u.email = :email, u.level = :level, u.coin = :coin, u.diamond = :diamond, u.gem = :gem, u.version = u.version + 1 WHERE u.id = :id AND u.role = 'Player'")
         int updatePlayer(@Param("id") Integer id, @Param("userName") String userName, @Param("email") String email,
                          @Param("level") Integer level,
                         @Param("coin") Integer coin, @Param("diamond") Integer diamond, @Param("gem") Integer gem);
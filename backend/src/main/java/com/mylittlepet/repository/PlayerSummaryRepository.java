@@ -0,0 +1,146 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.util.SqlParameters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Player summary read model: one player_summary row per player holding
+ * per-player aggregates (total pets, time of last pet change).
+ *
+ * The counts are kept current incrementally by an AFTER trigger on PlayerPet,
+ * so writes from the game as well as from this API are covered; the
+ * PlayerSummaryReconciler recomputes them in chunks to repair any drift.
+ * Player reads join [User] and player_summary on the primary key, so each is
+ * a single-row lookup with no COUNT over PlayerPet.
+ */
+@Repository
+public class PlayerSummaryRepository {
+
+    // Summarized pet count of u, needing PETS_JOIN; falls back to a live count only for players the
+    // reconciler has not reached yet. A join rather than a subquery, so UPDATE ... OUTPUT can use it too
+    static final String TOTAL_PETS = "COALESCE(s.TotalPets, lp.LivePets) AS TotalPets";
+
+    static final String PETS_JOIN = " LEFT JOIN player_summary s ON s.PlayerID = u.ID " +
+            "OUTER APPLY (SELECT COUNT(*) AS LivePets FROM PlayerPet pp " +
+            "WHERE pp.PlayerID = u.ID AND s.PlayerID IS NULL) lp";
+
+    // Player columns (ban state included) plus the pet count
+    static final String PLAYER_COLUMNS = "u.ID, u.UserName, u.Email, u.Level, u.Coin, u.Diamond, u.Gem, u.JoinDate, u.Version, " +
+            "u.Status, u.BanEndsAt, " + TOTAL_PETS;
+
+    static final String PLAYER_FROM = " FROM [User] u" + PETS_JOIN;
+
+    static final RowMapper<PlayerDTO> PLAYER_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp joinDate = rs.getTimestamp("JoinDate");
+        PlayerDTO player = new PlayerDTO(
+                rs.getInt("ID"),
+                rs.getString("UserName"),
+                rs.getString("Email"),
+                (Integer) rs.getObject("Level"),
+                (Integer) rs.getObject("Coin"),
+                (Integer) rs.getObject("Diamond"),
+                (Integer) rs.getObject("Gem"),
+                joinDate != null ? joinDate.toLocalDateTime() : null,
+                rs.getInt("TotalPets"));
+        player.setVersion(rs.getLong("Version"));
+
+        // A timed ban that has ended counts as lifted even before PlayerBanService clears the row
+        long banEndsAt = rs.getLong("BanEndsAt");
+        boolean permanent = rs.wasNull();
+        if (PlayerBanRepository.STATUS_BANNED.equals(rs.getString("Status"))
+                && (permanent || banEndsAt > System.currentTimeMillis())) {
+            player.setStatus(PlayerBanRepository.STATUS_BANNED);
+            player.setBanEndDate(permanent ? null
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(banEndsAt), ZoneId.systemDefault()));
+        } else {
+            player.setStatus(PlayerBanRepository.STATUS_ACTIVE);
+        }
+        return player;
+    };
+
+    private static final String NOW_MS = "DATEDIFF_BIG(MILLISECOND, '1970-01-01', SYSUTCDATETIME())";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Optional<PlayerDTO> findPlayerById(Integer id) {
+        return queryOne(" WHERE u.ID = ? AND u.Role = 'Player'", id);
+    }
+
+    public Optional<PlayerDTO> findPlayerByEmail(String email) {
+        return queryOne(" WHERE u.Email = ? AND u.Role = 'Player'", email);
+    }
+
+    public Optional<PlayerDTO> findPlayerByUserName(String userName) {
+        return queryOne(" WHERE u.UserName = ? AND u.Role = 'Player'", userName);
+    }
+
+    // Players whose ID is in the list, in no particular order
+    public List<PlayerDTO> findPlayersByIds(List<Integer> ids) {
+        return queryIn("u.ID", ids);
+    }
+
+    public List<PlayerDTO> findPlayersByEmails(List<String> emails) {
+        return queryIn("u.Email", emails);
+    }
+
+    public List<PlayerDTO> findPlayersByUserNames(List<String> userNames) {
+        return queryIn("u.UserName", userNames);
+    }
+
+    public Integer findMaxPlayerId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(ID) FROM [User] WHERE Role = 'Player'", Integer.class);
+    }
+
+    /**
+     * Recompute the summaries of players with fromId < ID <= toId, fixing rows
+     * that drifted, adding missing ones and removing orphans
+     *
+     * @return number of summary rows that had to be changed
+     */
+    public int reconcileRange(int fromId, int toId) {
+        int changed = jdbcTemplate.update("MERGE player_summary WITH (HOLDLOCK) AS s " +
+                "USING (SELECT u.ID AS PlayerID, COUNT(pp.PlayerPetID) AS TotalPets FROM [User] u " +
+                "LEFT JOIN PlayerPet pp ON pp.PlayerID = u.ID " +
+                "WHERE u.Role = 'Player' AND u.ID > ? AND u.ID <= ? GROUP BY u.ID) AS c " +
+                "ON s.PlayerID = c.PlayerID " +
+                "WHEN MATCHED AND s.TotalPets <> c.TotalPets THEN " +
+                "UPDATE SET TotalPets = c.TotalPets, UpdatedAt = " + NOW_MS + " " +
+                "WHEN NOT MATCHED THEN INSERT (PlayerID, TotalPets, UpdatedAt) " +
+                "VALUES (c.PlayerID, c.TotalPets, " + NOW_MS + ");",
+                fromId, toId);
+        changed += jdbcTemplate.update("DELETE s FROM player_summary s WHERE s.PlayerID > ? AND s.PlayerID <= ? " +
+                "AND NOT EXISTS (SELECT 1 FROM [User] u WHERE u.ID = s.PlayerID AND u.Role = 'Player')",
+                fromId, toId);
+        return changed;
+    }
+
+    // One query per parameter slice
+    private List<PlayerDTO> queryIn(String column, List<?> values) {
+        List<PlayerDTO> players = new ArrayList<>(values.size());
+        for (List<?> slice : SqlParameters.slices(values)) {
+            players.addAll(jdbcTemplate.query("SELECT " + PLAYER_COLUMNS + PLAYER_FROM + " WHERE " + column +
+                    " IN (" + SqlParameters.placeholders(slice.size()) + ") AND u.Role = 'Player'",
+                    PLAYER_ROW_MAPPER, slice.toArray()));
+        }
+        return players;
+    }
+
+    private Optional<PlayerDTO> queryOne(String where, Object param) {
+        List<PlayerDTO> rows = jdbcTemplate.query("SELECT " + PLAYER_COLUMNS + PLAYER_FROM + where,
+                PLAYER_ROW_MAPPER, param);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
@@ -0,0 +1,97 @@
+package com.mylittlepet.repository;
+
+import com.mylittlepet.dto.PlayerDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Player edits in a single round trip: one UPDATE that merges the given
+ * fields (null = keep), bumps [User].Version, optionally requires the version
+ * the client last saw, and returns the new row with its pet count via OUTPUT.
+ */
+@Repository
+public class PlayerUpdateRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Update a player
+     *
+     * @param id              player ID
+     * @param changes         new values; null fields are left unchanged
+     * @param expectedVersion version the client read, or null to skip the check
+     * @return the updated player and how its balances changed, or empty if no
+     *         player matched (missing, or version changed)
+     */
+    public Optional<Update> updatePlayer(Integer id, PlayerDTO changes, Long expectedVersion) {
+        List<Object> params = new ArrayList<>();
+        params.add(changes.getUserName());
+        params.add(changes.getEmail());
+        params.add(changes.getLevel());
+        params.add(changes.getCoin());
+        params.add(changes.getDiamond());
+        params.add(changes.getGem());
+        params.add(id);
+
+        String sql = "UPDATE u SET UserName = COALESCE(?, u.UserName), Email = COALESCE(?, u.Email), " +
+                "Level = COALESCE(?, u.Level), Coin = COALESCE(?, u.Coin), Diamond = COALESCE(?, u.Diamond), " +
+                "Gem = COALESCE(?, u.Gem), Version = u.Version + 1 " +
+                "OUTPUT INSERTED.ID, INSERTED.UserName, INSERTED.Email, INSERTED.Level, INSERTED.Coin, " +
+                "INSERTED.Diamond, INSERTED.Gem, INSERTED.JoinDate, INSERTED.Version, INSERTED.Status, " +
+                "INSERTED.BanEndsAt, " +
+                PlayerSummaryRepository.TOTAL_PETS + ", " +
+                "CAST(INSERTED.Coin AS BIGINT) - DELETED.Coin AS CoinDelta, " +
+                "CAST(INSERTED.Diamond AS BIGINT) - DELETED.Diamond AS DiamondDelta, " +
+                "CAST(INSERTED.Gem AS BIGINT) - DELETED.Gem AS GemDelta " +
+                "FROM [User] u" + PlayerSummaryRepository.PETS_JOIN + " " +
+                "WHERE u.ID = ? AND u.Role = 'Player'";
+        if (expectedVersion != null) {
+            sql += " AND u.Version = ?";
+            params.add(expectedVersion);
+        }
+
+        List<Update> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new Update(
+                PlayerSummaryRepository.PLAYER_ROW_MAPPER.mapRow(rs, rowNum),
+                rs.getLong("CoinDelta"), rs.getLong("DiamondDelta"), rs.getLong("GemDelta")), params.toArray());
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Updated player plus the change of each balance (new minus old)
+     */
+    public static class Update {
+        private final PlayerDTO player;
+        private final long coinDelta;
+        private final long diamondDelta;
+        private final long gemDelta;
+
+        private Update(PlayerDTO player, long coinDelta, long diamondDelta, long gemDelta) {
+            this.player = player;
+            this.coinDelta = coinDelta;
+            this.diamondDelta = diamondDelta;
+            this.gemDelta = gemDelta;
+        }
+
+        public PlayerDTO getPlayer() {
+            return player;
+        }
+
+        public long getCoinDelta() {
+            return coinDelta;
+        }
+
+        public long getDiamondDelta() {
+            return diamondDelta;
+        }
+
+        public long getGemDelta() {
+            return gemDelta;
+        }
+    }
+}
@@ -46,6 +46,10 @@ public interface ShopProductRepository extends JpaRepository<ShopProduct, Intege
     @Query("SELECT sp FROM ShopProduct sp ORDER BY sp.name ASC")
     List<ShopProduct> findAllOrderByName();
 
+    // Find all shop products with their admin, ordered by ID
+    @Query("SELECT sp FROM ShopProduct sp LEFT JOIN FETCH sp.admin ORDER BY sp.shopProductId ASC")
+    List<ShopProduct> findAllWithAdminOrderById();
+
     // Find all shop products ordered by price
     @Query("SELECT sp FROM ShopProduct sp ORDER BY sp.price ASC")
     List<ShopProduct> findAllOrderByPrice();
@@ -28,6 +28,15 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
     Optional<User> findByEmailIgnoreCase(@Param("email") String email);
 
+    // Username/email pairs of all users, for the availability index
+    @Query("SELECT u.userName, u.email FROM User u")
+    List<Object[]> findAllUserNamesAndEmails();
+
+    // 1 if the unique username index from db/schema.sql exists (it is skipped while duplicates exist)
+    @Query(value = "SELECT COUNT(*) FROM sys.indexes WHERE name = 'UX_User_UserName' " +
+            "AND object_id = OBJECT_ID('[User]')", nativeQuery = true)
+    int countUserNameUniqueIndex();
+
     // Find admin by email for login (exclude players)
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.role != 'Player'")
     Optional<User> findAdminByEmail(@Param("email") String email);
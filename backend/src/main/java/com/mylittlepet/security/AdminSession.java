@@ -0,0 +1,85 @@
+package com.mylittlepet.security;
+
+/**
+ * Server-side state of one admin login, identified by the "sid" claim of its
+ * access tokens. Holds the hash of the current refresh token (and the one it
+ * replaced, to detect reuse of a rotated token). Mutated only by SessionRegistry
+ * while holding the owning user's stripe lock.
+ */
+public class AdminSession {
+
+    private final String sessionId;
+    private final String email;
+    private final Integer userId;
+    private final String role;
+    private final String credentialVersion;
+    private final long createdAt;
+
+    private volatile String refreshTokenHash;
+    private volatile String previousRefreshTokenHash;
+    private volatile long expiresAt;
+
+    public AdminSession(String sessionId, String email, Integer userId, String role, String credentialVersion,
+            long createdAt, String refreshTokenHash, String previousRefreshTokenHash, long expiresAt) {
+        this.sessionId = sessionId;
+        this.email = email;
+        this.userId = userId;
+        this.role = role;
+        this.credentialVersion = credentialVersion;
+        this.createdAt = createdAt;
+        this.refreshTokenHash = refreshTokenHash;
+        this.previousRefreshTokenHash = previousRefreshTokenHash;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getCredentialVersion() {
+        return credentialVersion;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getRefreshTokenHash() {
+        return refreshTokenHash;
+    }
+
+    public String getPreviousRefreshTokenHash() {
+        return previousRefreshTokenHash;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getRemainingTimeInMs() {
+        return Math.max(0, expiresAt - System.currentTimeMillis());
+    }
+
+    public boolean isExpired() {
+        return expiresAt <= System.currentTimeMillis();
+    }
+
+    // Replace the refresh token and extend the session
+    void rotate(String newRefreshTokenHash, long newExpiresAt) {
+        this.previousRefreshTokenHash = this.refreshTokenHash;
+        this.refreshTokenHash = newRefreshTokenHash;
+        this.expiresAt = newExpiresAt;
+    }
+}
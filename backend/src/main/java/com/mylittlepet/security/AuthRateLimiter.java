@@ -0,0 +1,117 @@
+package com.mylittlepet.security;
+
+import com.mylittlepet.exception.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process token bucket rate limiter for the public auth endpoints
+ * (login, register, forgot-password), keyed by email and by client IP.
+ *
+ * Called by AuthController before AuthService so rejected attempts cost no
+ * database query and no bcrypt hash. Bucket updates are guarded by a lock
+ * stripe chosen from the key; idle, fully refilled buckets are evicted in the
+ * background.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    @Value("${security.rate-limit.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${security.rate-limit.email.refill-per-minute:5}")
+    private double emailRefillPerMinute;
+
+    @Value("${security.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${security.rate-limit.ip.refill-per-minute:20}")
+    private double ipRefillPerMinute;
+
+    @Value("${security.rate-limit.idle-eviction-ms:600000}")
+    private long idleEvictionMs;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public AuthRateLimiter() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Take one token from both the email and the IP bucket of an action
+     *
+     * @param action   endpoint name, e.g. "login"
+     * @param email    email from the request body (may be null)
+     * @param clientIp remote address of the request
+     * @throws RateLimitExceededException if either bucket is empty
+     */
+    public void check(String action, String email, String clientIp) {
+        long now = System.currentTimeMillis();
+
+        if (clientIp != null) {
+            acquire(action + ":ip:" + clientIp, ipCapacity, ipRefillPerMinute, now);
+        }
+        if (email != null && !email.isBlank()) {
+            acquire(action + ":email:" + email.trim().toLowerCase(Locale.ROOT), emailCapacity,
+                    emailRefillPerMinute, now);
+        }
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    // Drop buckets that have been idle long enough to be full again
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.currentTimeMillis();
+        for (String key : buckets.keySet()) {
+            synchronized (lockFor(key)) {
+                Bucket bucket = buckets.get(key);
+                if (bucket != null && now - bucket.lastRefill > idleEvictionMs) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private void acquire(String key, int capacity, double refillPerMinute, long now) {
+        double refillPerMs = refillPerMinute / 60_000.0;
+
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) * refillPerMs);
+            bucket.lastRefill = now;
+
+            if (bucket.tokens < 1) {
+                long retryAfterMs = (long) Math.ceil((1 - bucket.tokens) / refillPerMs);
+                throw new RateLimitExceededException(Math.max(1, (retryAfterMs + 999) / 1000));
+            }
+            bucket.tokens -= 1;
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
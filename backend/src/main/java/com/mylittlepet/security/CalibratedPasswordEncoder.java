@@ -0,0 +1,102 @@
+package com.mylittlepet.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder with a cluster-wide work factor. calibrate() measures the
+ * cost that hashes in roughly the target time on the current machine; the
+ * first node to start stores it and every node uses that stored cost (see
+ * SecurityConfig), so all nodes hash alike.
+ *
+ * New hashes are stored with a "{bcrypt}" prefix (DelegatingPasswordEncoder
+ * format); legacy unprefixed hashes still verify. upgradeEncoding() reports
+ * hashes that are unprefixed or weaker than the configured cost, so
+ * AuthService.login can rehash them. Stronger hashes are left alone: lowering
+ * the cost never rewrites passwords.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+
+    private static final String ENCODING_ID = "bcrypt";
+    private static final String PREFIX = "{" + ENCODING_ID + "}";
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    // Cost used for the timing probe; each +1 doubles the work
+    private static final int PROBE_STRENGTH = 10;
+    private static final int PROBE_ROUNDS = 3;
+
+    private final int strength;
+    private final DelegatingPasswordEncoder delegate;
+
+    public CalibratedPasswordEncoder(int strength) {
+        this.strength = strength;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(ENCODING_ID, bcrypt);
+        this.delegate = new DelegatingPasswordEncoder(ENCODING_ID, encoders);
+        // Hashes written before prefixes were introduced are plain bcrypt
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+    }
+
+    /**
+     * Pick the highest bcrypt cost whose hash time stays within the target
+     *
+     * @param targetMs    desired time for one hash
+     * @param minStrength lower bound (never go below this, even on slow hardware)
+     * @param maxStrength upper bound
+     */
+    public static int calibrate(long targetMs, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("calibration-warmup");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double probeMs = Math.max(best / 1_000_000.0, 0.01);
+
+        int strength = PROBE_STRENGTH + (int) Math.floor(Math.log(targetMs / probeMs) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+
+        logger.info("BCrypt calibrated: cost {} measured {} ms, target {} ms -> cost {} (~{} ms)",
+                PROBE_STRENGTH, String.format("%.1f", probeMs), targetMs, strength,
+                Math.round(probeMs * Math.pow(2, strength - PROBE_STRENGTH)));
+        return strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+            return true;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword.substring(PREFIX.length()));
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -0,0 +1,104 @@
+package com.mylittlepet.security;
+
+import com.mylittlepet.entity.User;
+import com.mylittlepet.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the current credential version of each user in memory so that a JWT
+ * carrying a "cv" claim can be accepted without loading the user from the database.
+ *
+ * The version is derived from the user's password-change counter and role, so
+ * it changes whenever the password is reset or the role is modified - but not
+ * when login merely rehashes the same password at a new cost. The database is only
+ * consulted when a user is not cached yet, when the cached entry is older than
+ * the TTL (which bounds how long a change made on another node goes unseen), or
+ * when a token's version does not match an entry that is older than the recheck
+ * interval. Mismatches against a fresher entry - stale or replayed tokens - are
+ * rejected from memory, so they cost at most one query per user per interval.
+ */
+@Component
+public class CredentialVersionCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.credential-version.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${jwt.credential-version.recheck-ms:5000}")
+    private long recheckMs;
+
+    private final Map<String, Entry> versionsByEmail = new ConcurrentHashMap<>();
+
+    // Version as last read (null = no such user) and when it was read
+    private static final class Entry {
+        private final String version;
+        private final long loadedAt;
+
+        private Entry(String version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Compute the credential version for a user (first 12 hex chars of SHA-256)
+    public static String versionOf(User user) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            int passwordVersion = user.getPasswordVersion() != null ? user.getPasswordVersion() : 0;
+            byte[] digest = md.digest((user.getId() + ":" + passwordVersion + ":" + user.getRole())
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Check whether a token's credential version is still current for the user
+    public boolean isCurrent(String email, String version) {
+        if (email == null || version == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry known = versionsByEmail.get(email);
+        if (known != null && now - known.loadedAt < ttlMs) {
+            if (version.equals(known.version)) {
+                return true;
+            }
+            // Recently confirmed: the token is stale, no need to ask the database again
+            if (now - known.loadedAt < recheckMs) {
+                return false;
+            }
+        }
+
+        // Unknown user, expired entry or mismatch: refresh from the database once
+        return version.equals(reload(email, now));
+    }
+
+    // Record the current version after a login or credential change
+    public void update(User user) {
+        versionsByEmail.put(user.getEmail(), new Entry(versionOf(user), System.currentTimeMillis()));
+    }
+
+    public void invalidate(String email) {
+        versionsByEmail.remove(email);
+    }
+
+    private String reload(String email, long now) {
+        // Missing users are cached too, so tokens for deleted accounts do not query on every request
+        String version = userRepository.findByEmail(email).map(CredentialVersionCache::versionOf).orElse(null);
+        versionsByEmail.put(email, new Entry(version, now));
+        return version;
+    }
+}
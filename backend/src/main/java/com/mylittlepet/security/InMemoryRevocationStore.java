@@ -0,0 +1,35 @@
+package com.mylittlepet.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * No-op store for single-node setups: revocations live only in
+ * TokenRevocationService's memory and are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "memory")
+public class InMemoryRevocationStore implements RevocationStore {
+
+    @Override
+    public void save(String tokenId, long expiresAt) {
+    }
+
+    @Override
+    public Map<String, Long> loadActive(long now) {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, Long> loadRevokedSince(long revokedAfter) {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public int deleteExpired(long now) {
+        return 0;
+    }
+}
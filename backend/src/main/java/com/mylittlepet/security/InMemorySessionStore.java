@@ -0,0 +1,79 @@
+package com.mylittlepet.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local store for single-node setups: sessions are shared with no
+ * other node and are lost on restart. Holds its own copies, so the registry's
+ * changes reach it only through the store methods.
+ */
+@Component
+@ConditionalOnProperty(name = "admin.session.store", havingValue = "memory")
+public class InMemorySessionStore implements SessionStore {
+
+    private final Map<String, AdminSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public List<AdminSession> loadActive(long now) {
+        List<AdminSession> active = new ArrayList<>();
+        for (AdminSession session : sessions.values()) {
+            if (session.getExpiresAt() > now) {
+                active.add(copy(session));
+            }
+        }
+        return active;
+    }
+
+    @Override
+    public AdminSession findActive(String sessionId, long now) {
+        AdminSession session = sessions.get(sessionId);
+        return session != null && session.getExpiresAt() > now ? copy(session) : null;
+    }
+
+    @Override
+    public void saveAll(Collection<AdminSession> sessions) {
+        for (AdminSession session : sessions) {
+            this.sessions.putIfAbsent(session.getSessionId(), copy(session));
+        }
+    }
+
+    @Override
+    public boolean rotate(String sessionId, String expectedRefreshHash, String newRefreshHash, long newExpiresAt,
+            long now) {
+        boolean[] rotated = { false };
+        sessions.computeIfPresent(sessionId, (id, session) -> {
+            if (session.getExpiresAt() <= now || !expectedRefreshHash.equals(session.getRefreshTokenHash())) {
+                return session;
+            }
+            AdminSession next = copy(session);
+            next.rotate(newRefreshHash, newExpiresAt);
+            rotated[0] = true;
+            return next;
+        });
+        return rotated[0];
+    }
+
+    @Override
+    public void deleteAll(Collection<String> sessionIds) {
+        sessionIds.forEach(sessions::remove);
+    }
+
+    @Override
+    public int deleteExpired(long now) {
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.getExpiresAt() <= now);
+        return before - sessions.size();
+    }
+
+    private static AdminSession copy(AdminSession s) {
+        return new AdminSession(s.getSessionId(), s.getEmail(), s.getUserId(), s.getRole(), s.getCredentialVersion(),
+                s.getCreatedAt(), s.getRefreshTokenHash(), s.getPreviousRefreshTokenHash(), s.getExpiresAt());
+    }
+}
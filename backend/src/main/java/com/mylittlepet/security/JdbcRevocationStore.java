@@ -0,0 +1,51 @@
+package com.mylittlepet.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores revoked token ids in the revoked_tokens table (SQL Server).
+ * Times are stored as epoch milliseconds.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcRevocationStore implements RevocationStore {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(String tokenId, long expiresAt) {
+        jdbcTemplate.update("IF NOT EXISTS (SELECT 1 FROM revoked_tokens WHERE jti = ?) " +
+                "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (?, ?, ?)",
+                tokenId, tokenId, expiresAt, System.currentTimeMillis());
+    }
+
+    @Override
+    public Map<String, Long> loadActive(long now) {
+        return query("SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?", now);
+    }
+
+    @Override
+    public Map<String, Long> loadRevokedSince(long revokedAfter) {
+        return query("SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at >= ?", revokedAfter);
+    }
+
+    @Override
+    public int deleteExpired(long now) {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", now);
+    }
+
+    private Map<String, Long> query(String sql, long param) {
+        Map<String, Long> result = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            result.put(rs.getString("jti"), rs.getLong("expires_at"));
+        }, param);
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.mylittlepet.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores admin sessions in the admin_sessions table (SQL Server).
+ * Times are stored as epoch milliseconds.
+ */
+@Component
+@ConditionalOnProperty(name = "admin.session.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcSessionStore implements SessionStore {
+
+    private static final RowMapper<AdminSession> SESSION_MAPPER = (rs, rowNum) -> new AdminSession(
+            rs.getString("session_id"),
+            rs.getString("email"),
+            (Integer) rs.getObject("user_id"),
+            rs.getString("role"),
+            rs.getString("credential_version"),
+            rs.getLong("created_at"),
+            rs.getString("refresh_hash"),
+            rs.getString("previous_refresh_hash"),
+            rs.getLong("expires_at"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<AdminSession> loadActive(long now) {
+        return jdbcTemplate.query("SELECT * FROM admin_sessions WHERE expires_at > ?", SESSION_MAPPER, now);
+    }
+
+    @Override
+    public AdminSession findActive(String sessionId, long now) {
+        List<AdminSession> found = jdbcTemplate.query(
+                "SELECT * FROM admin_sessions WHERE session_id = ? AND expires_at > ?", SESSION_MAPPER, sessionId, now);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public void saveAll(Collection<AdminSession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (AdminSession s : sessions) {
+            batch.add(new Object[] { s.getSessionId(), s.getEmail(), s.getUserId(), s.getRole(),
+                    s.getCredentialVersion(), s.getRefreshTokenHash(), s.getPreviousRefreshTokenHash(),
+                    s.getCreatedAt(), s.getExpiresAt() });
+        }
+        jdbcTemplate.batchUpdate("MERGE admin_sessions AS t " +
+                "USING (SELECT ? AS session_id, ? AS email, ? AS user_id, ? AS role, ? AS credential_version, " +
+                "? AS refresh_hash, ? AS previous_refresh_hash, ? AS created_at, ? AS expires_at) AS s " +
+                "ON t.session_id = s.session_id " +
+                "WHEN NOT MATCHED THEN INSERT (session_id, email, user_id, role, credential_version, refresh_hash, " +
+                "previous_refresh_hash, created_at, expires_at) VALUES (s.session_id, s.email, s.user_id, s.role, " +
+                "s.credential_version, s.refresh_hash, s.previous_refresh_hash, s.created_at, s.expires_at);",
+                batch);
+    }
+
+    @Override
+    public boolean rotate(String sessionId, String expectedRefreshHash, String newRefreshHash, long newExpiresAt,
+            long now) {
+        return jdbcTemplate.update("UPDATE admin_sessions SET previous_refresh_hash = refresh_hash, " +
+                "refresh_hash = ?, expires_at = ? WHERE session_id = ? AND refresh_hash = ? AND expires_at > ?",
+                newRefreshHash, newExpiresAt, sessionId, expectedRefreshHash, now) == 1;
+    }
+
+    @Override
+    public void deleteAll(Collection<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (String sessionId : sessionIds) {
+            batch.add(new Object[] { sessionId });
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM admin_sessions WHERE session_id = ?", batch);
+    }
+
+    @Override
+    public int deleteExpired(long now) {
+        return jdbcTemplate.update("DELETE FROM admin_sessions WHERE expires_at <= ?", now);
+    }
+}
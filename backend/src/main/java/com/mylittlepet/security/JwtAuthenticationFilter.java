@@ -5,11 +5,15 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -26,6 +30,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private CredentialVersionCache credentialVersionCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    // When enabled, tokens carrying identity claims are authenticated without a database lookup
+    @Value("${jwt.stateless.enabled:true}")
+    private boolean statelessEnabled;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
@@ -33,23 +50,61 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String jwt = getJwtFromRequest(request);
 
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-            String username = jwtTokenProvider.getUsernameFromToken(jwt);
+        if (StringUtils.hasText(jwt)) {
+            // Parse and verify the token once; everything below reuses these claims
+            VerifiedToken verifiedToken = jwtTokenProvider.parseToken(jwt);
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (verifiedToken != null && isStillValid(verifiedToken)) {
+                request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, verifiedToken);
 
-            if (jwtTokenProvider.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = loadUserDetails(verifiedToken);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails != null && jwtTokenProvider.validateToken(verifiedToken, userDetails)) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    // Revocation and session checks are answered from memory; a session is only read from the
+    // store when this node has not seen it or its cached copy is due for a recheck
+    private boolean isStillValid(VerifiedToken verifiedToken) {
+        if (tokenRevocationService.isRevoked(verifiedToken)) {
+            return false;
+        }
+        // Session-bound tokens stop working as soon as the session ends
+        String sessionId = verifiedToken.getSessionId();
+        return sessionId == null || sessionRegistry.isActive(sessionId);
+    }
+
+    private UserDetails loadUserDetails(VerifiedToken verifiedToken) {
+        if (statelessEnabled && verifiedToken.hasIdentityClaims()) {
+            // Reject tokens issued before the last password or role change
+            if (!credentialVersionCache.isCurrent(verifiedToken.getUsername(),
+                    verifiedToken.getCredentialVersion())) {
+                return null;
+            }
+
+            return User.builder()
+                    .username(verifiedToken.getUsername())
+                    .password("")
+                    .authorities(new SimpleGrantedAuthority("ROLE_" + verifiedToken.getRole()))
+                    .build();
+        }
+
+        try {
+            return userDetailsService.loadUserByUsername(verifiedToken.getUsername());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
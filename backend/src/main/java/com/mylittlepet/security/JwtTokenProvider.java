@@ -1,36 +1,64 @@
 package com.mylittlepet.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
 
+    // Identity claims used for database-free authentication
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIAL_VERSION = "cv";
+    public static final String CLAIM_SESSION_ID = "sid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
+    // Lifetime of access tokens bound to an admin session; the session itself is
+    // extended by rotating its refresh token
+    @Value("${jwt.access.expiration:900000}")
+    private int accessTokenExpirationInMs;
+
     @Value("${admin.session.timeout}")
     private int adminSessionTimeoutInMs;
 
     @Value("${admin.session.warning.time}")
     private int adminSessionWarningTimeInMs;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Built once at startup; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -46,24 +74,67 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(System.currentTimeMillis() + expirationTime);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Generate a short-lived access token for an admin session. It carries user id,
+    // role and credential version so requests can be authenticated from the token alone
+    public String generateAccessToken(AdminSession session) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, session.getUserId());
+        claims.put(CLAIM_ROLE, session.getRole());
+        claims.put(CLAIM_CREDENTIAL_VERSION, session.getCredentialVersion());
+        claims.put(CLAIM_SESSION_ID, session.getSessionId());
+
+        return buildToken(session.getEmail(), claims, accessTokenExpirationInMs);
+    }
+
+    public int getAccessTokenExpirationInMs() {
+        return accessTokenExpirationInMs;
+    }
+
     public String generateTokenFromUsername(String username) {
         Date expiryDate = new Date(System.currentTimeMillis() + adminSessionTimeoutInMs);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify the signature and expiry of a token and return its claims.
+     * This is the only place a token is actually parsed; results are cached
+     * until the token expires.
+     *
+     * @param token raw JWT string
+     * @return verified token, or null if the token is malformed, forged or expired
+     */
+    public VerifiedToken parseToken(String token) {
+        // Tokens seen before skip signature verification and claim deserialization
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            VerifiedToken verifiedToken = new VerifiedToken(token, claims);
+            verifiedTokenCache.put(verifiedToken);
+            return verifiedToken;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -78,11 +149,7 @@ public class JwtTokenProvider {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public Boolean isTokenExpired(String token) {
@@ -91,45 +158,54 @@ public class JwtTokenProvider {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verifiedToken = parseToken(token);
+        return verifiedToken != null && validateToken(verifiedToken, userDetails);
+    }
+
+    // Check an already verified token against the loaded user without parsing again
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.getUsername().equals(userDetails.getUsername()) && !verifiedToken.isExpired();
     }
 
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     // Get remaining time before token expires (in milliseconds)
     public long getRemainingTimeInMs(String token) {
-        try {
-            Date expiration = getExpirationDateFromToken(token);
-            return expiration.getTime() - System.currentTimeMillis();
-        } catch (Exception e) {
-            return 0;
-        }
+        VerifiedToken verifiedToken = parseToken(token);
+        return verifiedToken != null ? getRemainingTimeInMs(verifiedToken) : 0;
+    }
+
+    public long getRemainingTimeInMs(VerifiedToken verifiedToken) {
+        return verifiedToken.getExpiration().getTime() - System.currentTimeMillis();
     }
 
     // Check if token is about to expire (within warning time)
     public Boolean isTokenAboutToExpire(String token) {
-        long remainingTime = getRemainingTimeInMs(token);
+        VerifiedToken verifiedToken = parseToken(token);
+        return verifiedToken != null && isTokenAboutToExpire(verifiedToken);
+    }
+
+    public boolean isTokenAboutToExpire(VerifiedToken verifiedToken) {
+        return isWithinWarningTime(getRemainingTimeInMs(verifiedToken));
+    }
+
+    public boolean isWithinWarningTime(long remainingTime) {
         return remainingTime > 0 && remainingTime <= adminSessionWarningTimeInMs;
     }
 
-    // Generate refresh token with extended expiration
-    public String refreshToken(String token) {
-        try {
-            String username = getUsernameFromToken(token);
-            return generateTokenFromUsername(username);
-        } catch (Exception e) {
-            return null;
-        }
+    private String buildToken(String subject, Map<String, Object> claims, int expirationTime) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + expirationTime);
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 }
@@ -0,0 +1,22 @@
+package com.mylittlepet.security;
+
+import java.util.Map;
+
+/**
+ * Persistent backing for revoked token ids (jti) so revocations survive
+ * restarts and are shared between nodes. Never called on the request path.
+ */
+public interface RevocationStore {
+
+    // Persist a revocation; expiresAt is the token's exp in epoch milliseconds
+    void save(String tokenId, long expiresAt);
+
+    // Load revocations that have not expired yet, as jti -> expiresAt
+    Map<String, Long> loadActive(long now);
+
+    // Load revocations recorded at or after the given time (epoch milliseconds)
+    Map<String, Long> loadRevokedSince(long revokedAfter);
+
+    // Remove revocations whose tokens have expired anyway
+    int deleteExpired(long now);
+}
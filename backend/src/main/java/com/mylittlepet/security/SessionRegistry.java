@@ -0,0 +1,415 @@
+package com.mylittlepet.security;
+
+import com.mylittlepet.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of admin sessions and their rotating refresh tokens.
+ *
+ * A refresh token has the form "sessionId.secret"; only the SHA-256 of the
+ * secret is kept. Every refresh replaces the secret, and presenting an
+ * already rotated secret ends the session (token theft). Operations on one
+ * admin's sessions are serialized by a lock stripe chosen from the email, which
+ * also enforces the per-admin cap on concurrent sessions.
+ *
+ * The SessionStore is the source of truth shared by all nodes. New and ended
+ * sessions are written through to it (a failed write stays pending and is
+ * retried by the flush job). A refresh is a compare-and-set on the stored
+ * token hash and is not retried: if another node rotated the same token
+ * first, one of the two copies was stolen, so the session is ended, and if
+ * the store cannot be written no new token is issued. Sessions this node has not seen are read from the store on first
+ * use, cached copies are re-read after admin.session.recheck-interval so that
+ * sessions ended on another node stop working here too, and ids the store does
+ * not know are remembered for admin.session.miss-ttl. Refresh always reads the
+ * stored session, since another node may have rotated it.
+ */
+@Service
+public class SessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionRegistry.class);
+
+    private static final int STRIPES = 64;
+
+    // Upper bound on remembered misses; refresh tokens are unverified input
+    private static final int MAX_MISSES = 10_000;
+
+    @Autowired
+    private SessionStore sessionStore;
+
+    @Value("${admin.session.timeout}")
+    private long sessionTimeoutInMs;
+
+    @Value("${admin.session.max-concurrent:5}")
+    private int maxSessionsPerAdmin;
+
+    @Value("${admin.session.recheck-interval:10000}")
+    private long recheckIntervalMs;
+
+    @Value("${admin.session.miss-ttl:5000}")
+    private long missTtlMs;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final Map<String, AdminSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionIdsByEmail = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    // When each cached session was last read from or written to the store
+    private final Map<String, Long> confirmedAt = new ConcurrentHashMap<>();
+    // Session ids the store did not have, and until when that answer is reused
+    private final Map<String, Long> missingUntil = new ConcurrentHashMap<>();
+
+    // Write-behind buffers, drained by flush()
+    private final Map<String, AdminSession> pendingSaves = new ConcurrentHashMap<>();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+
+    public SessionRegistry() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Result of creating or rotating a session: the session and the new raw
+     * refresh token, which is returned to the client exactly once
+     */
+    public static class IssuedSession {
+        private final AdminSession session;
+        private final String refreshToken;
+
+        IssuedSession(AdminSession session, String refreshToken) {
+            this.session = session;
+            this.refreshToken = refreshToken;
+        }
+
+        public AdminSession getSession() {
+            return session;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        for (AdminSession session : sessionStore.loadActive(now)) {
+            sessions.put(session.getSessionId(), session);
+            sessionIdsByEmail.computeIfAbsent(session.getEmail(), k -> new LinkedHashSet<>())
+                    .add(session.getSessionId());
+            confirmedAt.put(session.getSessionId(), now);
+        }
+        logger.info("Loaded {} active admin sessions", sessions.size());
+    }
+
+    // Start a new session, ending the admin's oldest sessions beyond the cap
+    public IssuedSession createSession(User user) {
+        String email = user.getEmail();
+        String sessionId = UUID.randomUUID().toString();
+        String secret = newSecret();
+        long now = System.currentTimeMillis();
+
+        AdminSession session = new AdminSession(sessionId, email, user.getId(), user.getRole(),
+                CredentialVersionCache.versionOf(user), now, hash(secret), null, now + sessionTimeoutInMs);
+
+        synchronized (lockFor(email)) {
+            Set<String> ids = sessionIdsByEmail.computeIfAbsent(email, k -> new LinkedHashSet<>());
+            ids.removeIf(id -> {
+                AdminSession existing = sessions.get(id);
+                return existing == null || existing.isExpired();
+            });
+
+            while (ids.size() >= maxSessionsPerAdmin) {
+                String oldest = ids.stream()
+                        .min(Comparator.comparingLong(id -> sessions.get(id).getCreatedAt()))
+                        .orElseThrow();
+                ids.remove(oldest);
+                removeSession(oldest);
+            }
+
+            ids.add(sessionId);
+            sessions.put(sessionId, session);
+            confirmedAt.put(sessionId, now);
+            pendingSaves.put(sessionId, session);
+        }
+
+        flush();
+        return new IssuedSession(session, sessionId + "." + secret);
+    }
+
+    /**
+     * Exchange a refresh token for a new one and extend the session
+     *
+     * @return the rotated session, or null if the token is unknown, expired or was already used
+     */
+    public IssuedSession rotate(String refreshToken) {
+        int dot = refreshToken != null ? refreshToken.indexOf('.') : -1;
+        if (dot <= 0) {
+            return null;
+        }
+        String sessionId = refreshToken.substring(0, dot);
+        String presentedHash = hash(refreshToken.substring(dot + 1));
+        long now = System.currentTimeMillis();
+
+        if (pendingSaves.containsKey(sessionId)) {
+            flush(); // a session whose insert failed earlier must be stored before it can be rotated
+        }
+
+        // Another node may have rotated or ended the session since it was cached here
+        AdminSession session = isRecentMiss(sessionId, now) ? null : load(sessionId, now);
+        if (session == null) {
+            return null;
+        }
+
+        IssuedSession issued;
+        synchronized (lockFor(session.getEmail())) {
+            if (sessions.get(sessionId) != session || session.isExpired()) {
+                return null;
+            }
+
+            if (!constantTimeEquals(presentedHash, session.getRefreshTokenHash())) {
+                if (constantTimeEquals(presentedHash, session.getPreviousRefreshTokenHash())) {
+                    // A rotated token was replayed: assume it was stolen and end the session
+                    logger.warn("Refresh token reuse detected for session {}", sessionId);
+                    invalidate(sessionId);
+                }
+                return null;
+            }
+
+            if (pendingSaves.containsKey(sessionId)) {
+                return null; // not stored yet, so it cannot be rotated safely
+            }
+
+            String secret = newSecret();
+            String newHash = hash(secret);
+            long newExpiresAt = now + sessionTimeoutInMs;
+            boolean rotated;
+            try {
+                rotated = sessionStore.rotate(sessionId, session.getRefreshTokenHash(), newHash, newExpiresAt, now);
+            } catch (Exception e) {
+                logger.warn("Failed to rotate admin session {}: {}", sessionId, e.getMessage());
+                return null;
+            }
+            if (!rotated) {
+                // The same token was used on another node meanwhile (or the session ended there)
+                logger.warn("Concurrent refresh token use detected for session {}", sessionId);
+                invalidate(sessionId);
+                return null;
+            }
+
+            session.rotate(newHash, newExpiresAt);
+            confirmedAt.put(sessionId, now);
+            issued = new IssuedSession(session, sessionId + "." + secret);
+        }
+
+        return issued;
+    }
+
+    /**
+     * Active (existing and not expired) session. Answered from memory while the
+     * cached copy is recent, otherwise from the store.
+     */
+    public AdminSession getActiveSession(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        AdminSession session = sessions.get(sessionId);
+        if (session == null && isRecentMiss(sessionId, now)) {
+            return null;
+        }
+        Long confirmed = confirmedAt.get(sessionId);
+        if (session == null || confirmed == null || now - confirmed >= recheckIntervalMs) {
+            session = load(sessionId, now);
+        }
+        return session != null && !session.isExpired() ? session : null;
+    }
+
+    public boolean isActive(String sessionId) {
+        return getActiveSession(sessionId) != null;
+    }
+
+    public void invalidate(String sessionId) {
+        AdminSession session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        synchronized (lockFor(session.getEmail())) {
+            Set<String> ids = sessionIdsByEmail.get(session.getEmail());
+            if (ids != null) {
+                ids.remove(sessionId);
+            }
+            removeSession(sessionId);
+        }
+        flush();
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    // Write pending changes to the store in batches
+    @Scheduled(fixedDelayString = "${admin.session.flush-interval:1000}")
+    @PreDestroy
+    public void flush() {
+        try {
+            if (!pendingDeletes.isEmpty()) {
+                List<String> deletes = new ArrayList<>(pendingDeletes);
+                sessionStore.deleteAll(deletes);
+                deletes.forEach(pendingDeletes::remove);
+            }
+            if (!pendingSaves.isEmpty()) {
+                List<AdminSession> saves = new ArrayList<>();
+                pendingSaves.forEach((id, session) -> {
+                    if (pendingSaves.remove(id, session)) {
+                        saves.add(session);
+                    }
+                });
+                try {
+                    sessionStore.saveAll(saves);
+                } catch (RuntimeException e) {
+                    // Put them back unless they were changed again meanwhile
+                    saves.forEach(s -> pendingSaves.putIfAbsent(s.getSessionId(), s));
+                    throw e;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to flush admin sessions: {}", e.getMessage());
+        }
+    }
+
+    // Drop expired sessions from memory and from the store
+    @Scheduled(fixedDelayString = "${admin.session.purge-interval:600000}")
+    public void purgeExpired() {
+        for (AdminSession session : new ArrayList<>(sessions.values())) {
+            if (session.isExpired()) {
+                invalidate(session.getSessionId());
+            }
+        }
+        long now = System.currentTimeMillis();
+        missingUntil.values().removeIf(until -> until <= now);
+        try {
+            sessionStore.deleteExpired(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warn("Failed to purge expired admin sessions: {}", e.getMessage());
+        }
+    }
+
+    // Caller must hold the stripe lock of the session's email
+    private void removeSession(String sessionId) {
+        sessions.remove(sessionId);
+        confirmedAt.remove(sessionId);
+        pendingSaves.remove(sessionId);
+        pendingDeletes.add(sessionId);
+    }
+
+    private boolean isRecentMiss(String sessionId, long now) {
+        Long until = missingUntil.get(sessionId);
+        return until != null && until > now;
+    }
+
+    /**
+     * Read a session from the store and replace the cached copy with it. Local
+     * changes not yet written (a failed write-through) win over the stored row.
+     *
+     * @return the stored session, or null if the store does not have it (or it expired)
+     */
+    private AdminSession load(String sessionId, long now) {
+        if (pendingDeletes.contains(sessionId)) {
+            return null;
+        }
+        if (pendingSaves.containsKey(sessionId)) {
+            return sessions.get(sessionId);
+        }
+
+        AdminSession stored;
+        try {
+            stored = sessionStore.findActive(sessionId, now);
+        } catch (Exception e) {
+            // Store unavailable: keep answering from the cached copy
+            logger.warn("Failed to load admin session {}: {}", sessionId, e.getMessage());
+            return sessions.get(sessionId);
+        }
+
+        AdminSession cached = sessions.get(sessionId);
+        if (stored == null) {
+            if (missingUntil.size() >= MAX_MISSES) {
+                missingUntil.clear();
+            }
+            missingUntil.put(sessionId, now + missTtlMs);
+            if (cached != null) {
+                // Ended on another node: forget it here without deleting it again
+                synchronized (lockFor(cached.getEmail())) {
+                    if (!pendingSaves.containsKey(sessionId) && sessions.remove(sessionId, cached)) {
+                        confirmedAt.remove(sessionId);
+                        Set<String> ids = sessionIdsByEmail.get(cached.getEmail());
+                        if (ids != null) {
+                            ids.remove(sessionId);
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        synchronized (lockFor(stored.getEmail())) {
+            if (pendingSaves.containsKey(sessionId)) {
+                return sessions.get(sessionId);
+            }
+            sessions.put(sessionId, stored);
+            sessionIdsByEmail.computeIfAbsent(stored.getEmail(), k -> new LinkedHashSet<>()).add(sessionId);
+            confirmedAt.put(sessionId, now);
+            missingUntil.remove(sessionId);
+            return stored;
+        }
+    }
+
+    private Object lockFor(String email) {
+        return locks[(email.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private String newSecret() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String secret) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.mylittlepet.security;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistent backing for SessionRegistry and the source of truth for session
+ * validity across nodes. Written through by the registry on every change (the
+ * flush job retries failed inserts and deletes; rotations are compare-and-set); read when a session is not cached on this
+ * node or its cached copy is due for a recheck.
+ */
+public interface SessionStore {
+
+    // Load sessions that have not expired yet
+    List<AdminSession> loadActive(long now);
+
+    // Load one session if it exists and has not expired, otherwise null
+    AdminSession findActive(String sessionId, long now);
+
+    // Insert the given sessions; sessions already stored are left as they are
+    void saveAll(Collection<AdminSession> sessions);
+
+    /**
+     * Replace a session's refresh token if it is still the expected one
+     *
+     * @return false if the session is gone, expired, or was rotated by someone else
+     */
+    boolean rotate(String sessionId, String expectedRefreshHash, String newRefreshHash, long newExpiresAt,
+            long now);
+
+    // Delete sessions by id
+    void deleteAll(Collection<String> sessionIds);
+
+    // Remove sessions that have expired
+    int deleteExpired(long now);
+}
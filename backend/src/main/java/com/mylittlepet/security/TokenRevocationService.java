@@ -0,0 +1,120 @@
+package com.mylittlepet.security;
+
+import com.mylittlepet.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks revoked token ids (jti) until the tokens would have expired anyway.
+ *
+ * isRevoked is called by JwtAuthenticationFilter on every request and never
+ * touches the database: a Bloom filter answers the common "not revoked" case,
+ * and only possible hits are confirmed against the in-memory set. The
+ * RevocationStore is written on revoke and polled in the background so that
+ * revocations from other nodes are picked up.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Overlap when polling the store, to tolerate clock skew between nodes
+    private static final long SYNC_OVERLAP_MS = 5000;
+
+    @Autowired
+    private RevocationStore revocationStore;
+
+    @Value("${jwt.revocation.bloom.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${jwt.revocation.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // jti -> token expiry (epoch milliseconds)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+    private volatile long lastSync;
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        revokedTokens.putAll(revocationStore.loadActive(now));
+        lastSync = now;
+        rebuildBloomFilter();
+        logger.info("Loaded {} active token revocations", revokedTokens.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revokedTokens.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public boolean isRevoked(VerifiedToken verifiedToken) {
+        return isRevoked(verifiedToken.getTokenId());
+    }
+
+    // Revoke a token until its own expiry
+    public void revoke(VerifiedToken verifiedToken) {
+        String tokenId = verifiedToken.getTokenId();
+        if (tokenId == null) {
+            return; // tokens issued before jti was added cannot be revoked individually
+        }
+        long expiresAt = verifiedToken.getExpiration().getTime();
+        addLocal(tokenId, expiresAt);
+        revocationStore.save(tokenId, expiresAt);
+    }
+
+    public int getRevokedCount() {
+        return revokedTokens.size();
+    }
+
+    // Pull revocations made on other nodes
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:10000}")
+    public void syncFromStore() {
+        try {
+            long now = System.currentTimeMillis();
+            revocationStore.loadRevokedSince(lastSync - SYNC_OVERLAP_MS).forEach(this::addLocal);
+            lastSync = now;
+        } catch (Exception e) {
+            logger.warn("Failed to sync token revocations: {}", e.getMessage());
+        }
+    }
+
+    // Forget revocations of tokens that have expired and shrink the Bloom filter
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuildBloomFilter();
+        try {
+            revocationStore.deleteExpired(now);
+        } catch (Exception e) {
+            logger.warn("Failed to purge expired token revocations: {}", e.getMessage());
+        }
+    }
+
+    // Writers are rare (logout, sync), so they simply serialize with the rebuild
+    private synchronized void addLocal(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        bloomFilter.add(tokenId);
+    }
+
+    private synchronized void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revokedTokens.size() * 2),
+                falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,80 @@
+package com.mylittlepet.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ * Parsed once per request by JwtAuthenticationFilter and stored as a request
+ * attribute so controllers can reuse it instead of parsing the token again.
+ */
+public class VerifiedToken {
+
+    // Request attribute under which the filter stores the verified token
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    private final String token;
+    private final Claims claims;
+
+    public VerifiedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    // Token id (jti) used for revocation
+    public String getTokenId() {
+        return claims.getId();
+    }
+
+    public Integer getUserId() {
+        return claims.get(JwtTokenProvider.CLAIM_USER_ID, Integer.class);
+    }
+
+    public String getRole() {
+        return claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+    }
+
+    public String getCredentialVersion() {
+        return claims.get(JwtTokenProvider.CLAIM_CREDENTIAL_VERSION, String.class);
+    }
+
+    // Admin session the token belongs to, or null for tokens not bound to a session
+    public String getSessionId() {
+        return claims.get(JwtTokenProvider.CLAIM_SESSION_ID, String.class);
+    }
+
+    // Tokens issued before identity claims were added only carry the subject
+    public boolean hasIdentityClaims() {
+        return getUserId() != null && getRole() != null && getCredentialVersion() != null;
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    // Remaining lifetime in milliseconds (never negative)
+    public long getRemainingTimeInMs() {
+        return Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis());
+    }
+
+    public boolean isExpired() {
+        return claims.getExpiration().before(new Date());
+    }
+}
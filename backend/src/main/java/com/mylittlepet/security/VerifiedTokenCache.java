@@ -0,0 +1,153 @@
+package com.mylittlepet.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of tokens that already passed signature verification.
+ *
+ * Entries are keyed by the SHA-256 digest of the raw token, hold the parsed
+ * claims, and are dropped as soon as the token's exp is reached. When the
+ * cache grows past its size cap the least recently used entries are evicted.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * Look up a previously verified token
+     *
+     * @param token raw JWT string
+     * @return cached verified token, or null on a miss or if the token has expired
+     */
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        long now = System.currentTimeMillis();
+
+        if (entry == null || !entry.verifiedToken.getToken().equals(token)) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt <= now) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+
+        entry.lastAccess = now;
+        hits.increment();
+        return entry.verifiedToken;
+    }
+
+    public void put(VerifiedToken verifiedToken) {
+        long expiresAt = verifiedToken.getExpiration().getTime();
+        entries.put(digest(verifiedToken.getToken()), new Entry(verifiedToken, expiresAt));
+
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    // Drop expired entries, then the least recently used ones down to 90% of the cap
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // another thread is already evicting
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(e -> {
+                boolean expired = e.getValue().expiresAt <= now;
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+
+            int target = (int) (maxSize * 0.9);
+            if (entries.size() <= target) {
+                return;
+            }
+
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+            snapshot.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            int toRemove = snapshot.size() - target;
+            for (int i = 0; i < toRemove; i++) {
+                Map.Entry<String, Entry> e = snapshot.get(i);
+                if (entries.remove(e.getKey(), e.getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private static class Entry {
+        private final VerifiedToken verifiedToken;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(VerifiedToken verifiedToken, long expiresAt) {
+            this.verifiedToken = verifiedToken;
+            this.expiresAt = expiresAt;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.dto.AdminStatsDTO;
+import com.mylittlepet.dto.PetDTO;
+import com.mylittlepet.repository.AdminStatsRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Admin dashboard totals kept in memory, so the dashboard is one small
+ * response instead of downloading every player, pet and product.
+ *
+ * Player and product rollups are counted once at startup and then adjusted
+ * by the write paths (player create/update/import, currency changes, bans,
+ * product writes). Pet totals are counted from the in-memory PetCatalog, which is
+ * reloaded after every pet write. A scheduled recount replaces the rollups to
+ * repair drift from writes made outside this API. Writes recorded while the
+ * recount queries run are kept and replayed on top of its result, so a busy
+ * write path does not keep the recount from ever being applied.
+ */
+@Service
+public class AdminStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatsService.class);
+
+    @Autowired
+    private AdminStatsRepository adminStatsRepository;
+
+    @Autowired
+    private PetCatalog petCatalog;
+
+    @Value("${admin.stats.join-days:30}")
+    private int joinDays;
+
+    // Player rollup; guarded by this
+    private long players;
+    private long coinSupply;
+    private long diamondSupply;
+    private long gemSupply;
+    private long bannedPlayers;
+    private final TreeMap<LocalDate, Long> joinsByDay = new TreeMap<>();
+
+    // Product rollup; guarded by this
+    private long products;
+    private final Map<String, Long> productsByStatus = new HashMap<>();
+    private final Map<String, Long> productsByCurrency = new HashMap<>();
+
+    private long reconciledAt;
+
+    // Writes made while a recount runs, replayed on top of its result; null when no recount runs
+    private List<Runnable> replay;
+
+    @PostConstruct
+    public void init() {
+        reconcile();
+    }
+
+    public synchronized void playerCreated(Integer coin, Integer diamond, Integer gem, LocalDateTime joinDate) {
+        record(() -> {
+            players++;
+            coinSupply += coin != null ? coin : 0;
+            diamondSupply += diamond != null ? diamond : 0;
+            gemSupply += gem != null ? gem : 0;
+            if (joinDate != null) {
+                joinsByDay.merge(joinDate.toLocalDate(), 1L, Long::sum);
+            }
+        });
+    }
+
+    // Net change of the players' balances
+    public synchronized void currencyChanged(long coin, long diamond, long gem) {
+        if (coin == 0 && diamond == 0 && gem == 0) {
+            return;
+        }
+        record(() -> {
+            coinSupply += coin;
+            diamondSupply += diamond;
+            gemSupply += gem;
+        });
+    }
+
+    // Net change of the number of banned players
+    public synchronized void bansChanged(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        record(() -> bannedPlayers += delta);
+    }
+
+    public synchronized void productAdded(Integer status, String currencyType) {
+        record(() -> adjustProducts(status, currencyType, 1));
+    }
+
+    public synchronized void productRemoved(Integer status, String currencyType) {
+        record(() -> adjustProducts(status, currencyType, -1));
+    }
+
+    public synchronized void productChanged(Integer oldStatus, String oldCurrencyType, Integer newStatus,
+            String newCurrencyType) {
+        record(() -> {
+            adjustProducts(oldStatus, oldCurrencyType, -1);
+            adjustProducts(newStatus, newCurrencyType, 1);
+        });
+    }
+
+    public AdminStatsDTO getStats() {
+        AdminStatsDTO stats = new AdminStatsDTO();
+        LocalDate firstDay = LocalDate.now().minusDays(joinDays - 1L);
+        synchronized (this) {
+            stats.setTotalPlayers(players);
+            stats.setCoinSupply(coinSupply);
+            stats.setDiamondSupply(diamondSupply);
+            stats.setGemSupply(gemSupply);
+            stats.setBannedPlayers((int) bannedPlayers);
+            Map<String, Long> joins = new LinkedHashMap<>();
+            joinsByDay.tailMap(firstDay).forEach((day, count) -> joins.put(day.toString(), count));
+            joinsByDay.headMap(firstDay).clear(); // days that left the window
+            stats.setJoinsByDay(joins);
+
+            stats.setTotalProducts(products);
+            stats.setProductsByStatus(new HashMap<>(productsByStatus));
+            stats.setProductsByCurrency(new HashMap<>(productsByCurrency));
+            stats.setReconciledAt(reconciledAt);
+        }
+
+        Map<String, Long> petsByType = new HashMap<>();
+        Map<String, Long> petsByStatus = new HashMap<>();
+        int totalPets = 0;
+        for (PetDTO pet : petCatalog.getSnapshot().getAll()) {
+            petsByType.merge(String.valueOf(pet.getPetType()), 1L, Long::sum);
+            petsByStatus.merge(String.valueOf(pet.getPetStatus()), 1L, Long::sum);
+            totalPets++;
+        }
+        stats.setTotalPets(totalPets);
+        stats.setPetsByType(petsByType);
+        stats.setPetsByStatus(petsByStatus);
+        return stats;
+    }
+
+    // Recount everything from the database
+    @Scheduled(fixedDelayString = "${admin.stats.reconcile-interval:600000}",
+            initialDelayString = "${admin.stats.reconcile-interval:600000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (replay != null) {
+                return; // a recount is already running
+            }
+            replay = new ArrayList<>();
+        }
+
+        long[] playerSums;
+        Map<LocalDate, Long> joins = new HashMap<>();
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byCurrency = new HashMap<>();
+        long[] productCount = { 0 };
+        try {
+            playerSums = adminStatsRepository.sumPlayers();
+            adminStatsRepository.countJoinsByDay(LocalDate.now().minusDays(joinDays - 1L), joins);
+            adminStatsRepository.countProducts(rs -> {
+                long count = rs.getLong("Products");
+                byStatus.merge(String.valueOf(rs.getObject("Status")), count, Long::sum);
+                byCurrency.merge(String.valueOf(rs.getString("CurrencyType")), count, Long::sum);
+                productCount[0] += count;
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null; // the incremental values already include every write
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            players = playerSums[0];
+            coinSupply = playerSums[1];
+            diamondSupply = playerSums[2];
+            gemSupply = playerSums[3];
+            bannedPlayers = playerSums[4];
+            joinsByDay.clear();
+            joinsByDay.putAll(joins);
+            products = productCount[0];
+            productsByStatus.clear();
+            productsByStatus.putAll(byStatus);
+            productsByCurrency.clear();
+            productsByCurrency.putAll(byCurrency);
+
+            // A write recorded during the recount may already be in its result if it committed before
+            // the query read its rows; that bounded error is repaired by the next recount
+            if (!replay.isEmpty()) {
+                logger.debug("Replaying {} stats writes made during the recount", replay.size());
+            }
+            replay.forEach(Runnable::run);
+            replay = null;
+            reconciledAt = System.currentTimeMillis();
+        }
+    }
+
+    // Apply a write to the rollups and keep it for replay if a recount is running; caller holds this
+    private void record(Runnable write) {
+        write.run();
+        if (replay != null) {
+            replay.add(write);
+        }
+    }
+
+    private void adjustProducts(Integer status, String currencyType, long delta) {
+        products += delta;
+        productsByStatus.merge(String.valueOf(status), delta, Long::sum);
+        productsByCurrency.merge(String.valueOf(currencyType), delta, Long::sum);
+        productsByStatus.values().removeIf(count -> count == 0);
+        productsByCurrency.values().removeIf(count -> count == 0);
+    }
+}
@@ -3,9 +3,12 @@ package com.mylittlepet.service;
 import com.mylittlepet.dto.*;
 import com.mylittlepet.entity.PasswordResetToken;
 import com.mylittlepet.entity.User;
-import com.mylittlepet.repository.PasswordResetTokenRepository;
+import com.mylittlepet.exception.PasswordHashingOverloadedException;
+import com.mylittlepet.exception.PasswordResetUnavailableException;
 import com.mylittlepet.repository.UserRepository;
+import com.mylittlepet.security.CredentialVersionCache;
 import com.mylittlepet.security.JwtTokenProvider;
+import com.mylittlepet.security.SessionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,9 +18,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class AuthService {
@@ -26,7 +29,7 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordResetTokenRepository passwordResetTokenRepository;
+    private PasswordResetTokenService passwordResetTokenService;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -37,6 +40,15 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private CredentialVersionCache credentialVersionCache;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
     public RegisterResponse register(RegisterRequest request) {
         try {
             // Check if passwords match
@@ -54,13 +66,15 @@ public class AuthService {
                 return new RegisterResponse(false, "Invalid email format");
             }
 
-            // Check if username already exists
-            if (userRepository.existsByUserName(request.getUsername())) {
+            // Check if username already exists (skipped when the availability index rules it out)
+            if (availabilityIndex.userNameMightExist(request.getUsername())
+                    && userRepository.existsByUserName(request.getUsername())) {
                 return new RegisterResponse(false, "Username already exists");
             }
 
             // Check if email already exists (case-insensitive for nvarchar)
-            if (userRepository.existsByEmail(request.getEmail())) {
+            if (availabilityIndex.emailMightExist(request.getEmail())
+                    && userRepository.existsByEmail(request.getEmail())) {
                 return new RegisterResponse(false, "Email already exists");
             }
 
@@ -86,6 +100,8 @@ public class AuthService {
                 }
             }
 
+            availabilityIndex.record(savedUser);
+
             // Create admin info
             AdminInfo adminInfo = new AdminInfo(
                     savedUser.getId().longValue(),
@@ -95,6 +111,8 @@ public class AuthService {
 
             return new RegisterResponse(true, "Registration successful", adminInfo);
 
+        } catch (PasswordHashingOverloadedException e) {
+            throw e; // shed load: mapped to 503 by GlobalExceptionHandler
         } catch (Exception e) {
             return new RegisterResponse(false, "Registration failed: " + e.getMessage());
         }
@@ -110,9 +128,6 @@ public class AuthService {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Generate JWT token (will use admin session timeout for admin users)
-            String jwt = jwtTokenProvider.generateToken(authentication);
-
             // Find user for admin info
             Optional<User> userOptional = userRepository.findAdminByEmail(request.getEmail());
             if (userOptional.isEmpty()) {
@@ -120,6 +135,19 @@ public class AuthService {
             }
             User user = userOptional.get();
 
+            // Re-hash with the current encoding/cost while the raw password is at hand. The
+            // password itself is unchanged, so the credential version (and other sessions) stay valid.
+            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                user.setPassword(passwordEncoder.encode(request.getPassword()));
+                user = userRepository.save(user);
+            }
+
+            // Start a server-side session and issue a short-lived access token with identity
+            // claims (so later requests need no user lookup) plus a rotating refresh token
+            SessionRegistry.IssuedSession issued = sessionRegistry.createSession(user);
+            String jwt = jwtTokenProvider.generateAccessToken(issued.getSession());
+            credentialVersionCache.update(user);
+
             // Create admin info
             AdminInfo adminInfo = new AdminInfo(
                     user.getId().longValue(),
@@ -127,41 +155,53 @@ public class AuthService {
                     user.getEmail(),
                     user.getRole());
 
-            return new LoginResponse(true, "Login successful. Session timeout: 2 hours.", jwt, adminInfo);
+            LoginResponse response = new LoginResponse(true, "Login successful. Session timeout: 2 hours.", jwt,
+                    adminInfo);
+            response.setRefreshToken(issued.getRefreshToken());
+            response.setExpiresIn(jwtTokenProvider.getAccessTokenExpirationInMs());
+            return response;
 
+        } catch (PasswordHashingOverloadedException e) {
+            throw e; // shed load: mapped to 503 by GlobalExceptionHandler
         } catch (Exception e) {
             return new LoginResponse(false, "Login failed: " + e.getMessage());
         }
     }
 
+    /**
+     * Live availability check for the registration form. Values the index rules
+     * out are answered from memory; possible hits are confirmed in the database.
+     *
+     * @param username username to check (may be null)
+     * @param email    email to check (may be null)
+     * @return map with "usernameAvailable" / "emailAvailable" for each value given
+     */
+    public Map<String, Object> checkAvailability(String username, String email) {
+        Map<String, Object> result = new HashMap<>();
+        if (username != null && !username.isBlank()) {
+            boolean taken = availabilityIndex.userNameMightExist(username)
+                    && userRepository.existsByUserName(username.trim());
+            result.put("username", username.trim());
+            result.put("usernameAvailable", !taken);
+        }
+        if (email != null && !email.isBlank()) {
+            boolean taken = availabilityIndex.emailMightExist(email)
+                    && userRepository.existsByEmailIgnoreCase(email.trim());
+            result.put("email", email.trim());
+            result.put("emailAvailable", !taken);
+        }
+        return result;
+    }
+
     public ApiResponse requestPasswordReset(PasswordResetRequest request) {
         try {
-            // Check if user exists
-            Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
-            if (userOptional.isEmpty()) {
-                // Return success even if user doesn't exist for security reasons
-                return new ApiResponse(true, "If the email exists, a password reset link has been sent.");
-            }
-
-            // User exists, proceed with token generation
-            // Delete any existing reset tokens for this email
-            passwordResetTokenRepository.deleteByEmail(request.getEmail());
-
-            // Generate reset token
-            String resetToken = UUID.randomUUID().toString();
-            LocalDateTime expiryDate = LocalDateTime.now().plusHours(1); // Token expires in 1 hour
-
-            // Save reset token
-            PasswordResetToken passwordResetToken = new PasswordResetToken(
-                    resetToken,
-                    request.getEmail(),
-                    expiryDate);
-            passwordResetTokenRepository.save(passwordResetToken);
-
-            // In a real application, you would send an email here
-            // For now, we'll just return success
-            return new ApiResponse(true, "Password reset token generated successfully. Token: " + resetToken);
+            // Same response and same work whether or not the email exists; the token
+            // is issued in the background and delivered out of band
+            passwordResetTokenService.requestReset(request.getEmail());
+            return new ApiResponse(true, "If the email exists, a password reset link has been sent.");
 
+        } catch (PasswordResetUnavailableException e) {
+            throw e; // no mail delivery: mapped to 503 by GlobalExceptionHandler
         } catch (Exception e) {
             return new ApiResponse(false, "Password reset request failed: " + e.getMessage());
         }
@@ -174,19 +214,14 @@ public class AuthService {
                 return new ApiResponse(false, "Passwords do not match");
             }
 
-            // Find the reset token
-            Optional<PasswordResetToken> tokenOptional = passwordResetTokenRepository.findByToken(request.getToken());
+            // Find the reset token (by digest; expired and used tokens are rejected)
+            Optional<PasswordResetToken> tokenOptional = passwordResetTokenService.findValidToken(request.getToken());
             if (tokenOptional.isEmpty()) {
                 return new ApiResponse(false, "Invalid or expired reset token");
             }
 
             PasswordResetToken resetToken = tokenOptional.get();
 
-            // Check if token is expired or used
-            if (resetToken.isExpired() || resetToken.isUsed()) {
-                return new ApiResponse(false, "Invalid or expired reset token");
-            }
-
             // Find user by email
             Optional<User> userOptional = userRepository.findByEmail(resetToken.getEmail());
             if (userOptional.isEmpty()) {
@@ -195,16 +230,21 @@ public class AuthService {
 
             User user = userOptional.get();
 
-            // Update password
+            // Update password; the new password version ends sessions and tokens issued before
             user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+            user.setPasswordVersion(user.getPasswordVersion() + 1);
             userRepository.save(user);
 
+            // Tokens issued with the old password are no longer accepted
+            credentialVersionCache.update(user);
+
             // Mark token as used
-            resetToken.setUsed(true);
-            passwordResetTokenRepository.save(resetToken);
+            passwordResetTokenService.markUsed(resetToken);
 
             return new ApiResponse(true, "Password reset successful");
 
+        } catch (PasswordHashingOverloadedException e) {
+            throw e; // shed load: mapped to 503 by GlobalExceptionHandler
         } catch (Exception e) {
             return new ApiResponse(false, "Password reset failed: " + e.getMessage());
         }
@@ -0,0 +1,150 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.entity.User;
+import com.mylittlepet.repository.UserRepository;
+import com.mylittlepet.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory index of taken usernames and emails, used to skip the existence
+ * queries before inserting a user.
+ *
+ * Values are normalized (trimmed, lower-cased) into two Bloom filters built
+ * at startup from [User]. A miss means the value is certainly free and the
+ * database check can be skipped; a hit only means "maybe taken" and must be
+ * confirmed. Users inserted by another node or by the game reach the filters
+ * only at the next rebuild, so a miss can be wrong: the unique indexes on
+ * [User].Email and [User].UserName (UX_User_UserName) stay the final arbiter.
+ * db/schema.sql cannot create the username index while existing rows share a
+ * username; without it usernames are always checked in the database. Renamed
+ * or deleted values linger until the periodic rebuild, which only costs an
+ * extra database check.
+ */
+@Service
+public class AvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${availability.bloom.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${availability.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter userNames;
+    private volatile BloomFilter emails;
+
+    // Whether the database rejects duplicate usernames, i.e. whether a filter miss may skip the check
+    private volatile boolean userNamesUnique;
+
+    // Values recorded while a rebuild is loading, replayed into the new filters
+    private List<String[]> recordedDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * @return false if no user has this username (case-insensitive); true if one might
+     */
+    public boolean userNameMightExist(String userName) {
+        String key = normalize(userName);
+        BloomFilter filter = userNames;
+        // Without an index every value is "maybe taken", i.e. checked in the database
+        return key != null && (filter == null || !userNamesUnique || filter.mightContain(key));
+    }
+
+    /**
+     * @return false if no user has this email (case-insensitive); true if one might
+     */
+    public boolean emailMightExist(String email) {
+        String key = normalize(email);
+        BloomFilter filter = emails;
+        return key != null && (filter == null || filter.mightContain(key));
+    }
+
+    // Call after every insert or rename of a user
+    public synchronized void record(String userName, String email) {
+        if (userNames != null) {
+            addTo(userNames, emails, userName, email);
+        }
+        if (recordedDuringRebuild != null) {
+            recordedDuringRebuild.add(new String[] { userName, email });
+        }
+    }
+
+    public void record(User user) {
+        record(user.getUserName(), user.getEmail());
+    }
+
+    // Rebuild from the database to drop stale values and resize for growth
+    @Scheduled(fixedDelayString = "${availability.bloom.rebuild-interval:3600000}",
+            initialDelayString = "${availability.bloom.rebuild-interval:3600000}")
+    public void rebuild() {
+        synchronized (this) {
+            recordedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            boolean unique = userRepository.countUserNameUniqueIndex() > 0;
+            if (!unique) {
+                logger.warn("Unique username index missing; usernames are always checked in the database");
+            }
+            userNamesUnique = unique;
+
+            List<Object[]> rows = userRepository.findAllUserNamesAndEmails();
+            int capacity = Math.max(expectedInsertions, rows.size() * 2);
+            BloomFilter newUserNames = new BloomFilter(capacity, falsePositiveRate);
+            BloomFilter newEmails = new BloomFilter(capacity, falsePositiveRate);
+            for (Object[] row : rows) {
+                addTo(newUserNames, newEmails, (String) row[0], (String) row[1]);
+            }
+
+            synchronized (this) {
+                for (String[] recorded : recordedDuringRebuild) {
+                    addTo(newUserNames, newEmails, recorded[0], recorded[1]);
+                }
+                userNames = newUserNames;
+                emails = newEmails;
+            }
+            logger.info("Availability index built from {} users", rows.size());
+        } catch (Exception e) {
+            logger.warn("Failed to build availability index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                recordedDuringRebuild = null;
+            }
+        }
+    }
+
+    private static void addTo(BloomFilter userNameFilter, BloomFilter emailFilter, String userName, String email) {
+        String userNameKey = normalize(userName);
+        if (userNameKey != null) {
+            userNameFilter.add(userNameKey);
+        }
+        String emailKey = normalize(email);
+        if (emailKey != null) {
+            emailFilter.add(emailKey);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
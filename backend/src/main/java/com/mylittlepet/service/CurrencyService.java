@@ -0,0 +1,152 @@
+package com.mylittlepet.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies coin/diamond/gem deltas to players without lost updates.
+ *
+ * Every delta, credit or debit, is one conditional UPDATE that adds the
+ * amounts to the stored balances and returns the new row: it matches nothing
+ * if the player is missing or banned, if a balance would go below zero, or if
+ * a balance would pass Integer.MAX_VALUE. The balance in the database is
+ * always the whole truth, so every node reads the same value and an admin
+ * edit that sets a balance outright cannot undo a credit. Every write to a
+ * balance bumps [User].Version, so an admin edit based on an older read gets
+ * a conflict instead.
+ *
+ * Credits used to be journaled and flushed in batches per node. Rows such a
+ * node left in currency_journal are applied once at startup.
+ */
+@Service
+public class CurrencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyService.class);
+
+    // Journal rows older than this were left by a stopped node; a running one flushed them long ago
+    private static final long ABANDONED_JOURNAL_AGE_MS = 60_000;
+
+    // Row condition for a player who may receive deltas; a timed ban that has ended counts as lifted (? = now)
+    private static final String NOT_BANNED = "(Status <> 'BANNED' OR BanEndsAt <= ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    /**
+     * Outcome of a delta request
+     */
+    public enum Result {
+        APPLIED, PLAYER_NOT_FOUND, PLAYER_BANNED, INSUFFICIENT_FUNDS, BALANCE_LIMIT
+    }
+
+    @PostConstruct
+    public void init() {
+        applyAbandonedJournal();
+    }
+
+    /**
+     * Apply a delta to a player's currencies
+     *
+     * @return APPLIED, or why nothing was changed
+     */
+    public Result applyDelta(Integer playerId, int coin, int diamond, int gem) {
+        long now = System.currentTimeMillis();
+        List<Integer> updated = jdbcTemplate.query("UPDATE [User] SET Coin = Coin + ?, " +
+                "Diamond = Diamond + ?, Gem = Gem + ?, Version = Version + 1 OUTPUT INSERTED.ID, " +
+                "INSERTED.UserName, INSERTED.Version, INSERTED.Level, INSERTED.Coin, INSERTED.Diamond, " +
+                "INSERTED.Gem WHERE ID = ? AND Role = 'Player' AND " + NOT_BANNED +
+                " AND Coin + ? >= 0 AND Diamond + ? >= 0 AND Gem + ? >= 0 " +
+                "AND CAST(Coin AS BIGINT) + ? <= 2147483647 AND CAST(Diamond AS BIGINT) + ? <= 2147483647 " +
+                "AND CAST(Gem AS BIGINT) + ? <= 2147483647", (rs, rowNum) -> {
+                    leaderboardService.record(rs);
+                    return rs.getInt("ID");
+                }, coin, diamond, gem, playerId, now, coin, diamond, gem, coin, diamond, gem);
+        if (updated.isEmpty()) {
+            return rejection(playerId, coin, diamond, gem, now);
+        }
+        adminStatsService.currencyChanged(coin, diamond, gem);
+        return Result.APPLIED;
+    }
+
+    // Why a delta matched no row: missing or banned player, a debit below zero, or a balance past the maximum
+    private Result rejection(Integer playerId, int coin, int diamond, int gem, long now) {
+        List<long[]> balances = jdbcTemplate.query(
+                "SELECT Coin, Diamond, Gem, CASE WHEN " + NOT_BANNED + " THEN 0 ELSE 1 END AS Banned " +
+                        "FROM [User] WHERE ID = ? AND Role = 'Player'",
+                (rs, rowNum) -> new long[] { rs.getLong("Coin"), rs.getLong("Diamond"), rs.getLong("Gem"),
+                        rs.getLong("Banned") },
+                now, playerId);
+        if (balances.isEmpty()) {
+            return Result.PLAYER_NOT_FOUND;
+        }
+        long[] balance = balances.get(0);
+        if (balance[3] == 1) {
+            return Result.PLAYER_BANNED;
+        }
+        if (balance[0] + coin < 0 || balance[1] + diamond < 0 || balance[2] + gem < 0) {
+            return Result.INSUFFICIENT_FUNDS;
+        }
+        return Result.BALANCE_LIMIT;
+    }
+
+    // Apply and delete journaled credits a stopped node never flushed, in one transaction
+    private void applyAbandonedJournal() {
+        Map<Integer, long[]> sums = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("DELETE FROM currency_journal OUTPUT DELETED.PlayerID, DELETED.CoinDelta, " +
+                    "DELETED.DiamondDelta, DELETED.GemDelta WHERE CreatedAt < ?", rs -> {
+                        long[] sum = sums.computeIfAbsent(rs.getInt("PlayerID"), k -> new long[3]);
+                        sum[0] += rs.getInt("CoinDelta");
+                        sum[1] += rs.getInt("DiamondDelta");
+                        sum[2] += rs.getInt("GemDelta");
+                    }, System.currentTimeMillis() - ABANDONED_JOURNAL_AGE_MS);
+            if (sums.isEmpty()) {
+                return;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            sums.forEach((playerId, sum) -> updates.add(
+                    new Object[] { sum[0], sum[0], sum[1], sum[1], sum[2], sum[2], playerId }));
+            // Saturate at the INT maximum, as the journaling flush did
+            jdbcTemplate.batchUpdate("UPDATE [User] SET " +
+                    "Coin = CASE WHEN CAST(Coin AS BIGINT) + ? > 2147483647 THEN 2147483647 ELSE Coin + ? END, " +
+                    "Diamond = CASE WHEN CAST(Diamond AS BIGINT) + ? > 2147483647 THEN 2147483647 " +
+                    "ELSE Diamond + ? END, " +
+                    "Gem = CASE WHEN CAST(Gem AS BIGINT) + ? > 2147483647 THEN 2147483647 ELSE Gem + ? END, " +
+                    "Version = Version + 1 WHERE ID = ?", updates);
+        });
+        if (sums.isEmpty()) {
+            return;
+        }
+
+        long coin = 0;
+        long diamond = 0;
+        long gem = 0;
+        for (long[] sum : sums.values()) {
+            coin += sum[0];
+            diamond += sum[1];
+            gem += sum[2];
+        }
+        adminStatsService.currencyChanged(coin, diamond, gem);
+        leaderboardService.refreshPlayers(sums.keySet());
+        logger.info("Applied journaled currency credits left for {} players", sums.size());
+    }
+}
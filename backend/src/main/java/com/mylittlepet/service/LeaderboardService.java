@@ -0,0 +1,308 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.dto.LeaderboardEntry;
+import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.repository.LeaderboardRepository;
+import com.mylittlepet.util.OrderStatisticTree;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory player leaderboards by level, coin, diamond and gem.
+ *
+ * Each board is an order-statistic tree, so top-N, the rank of a player and
+ * the players around a rank are O(log n) per entry instead of a sort over
+ * [User]. The boards are loaded from a snapshot at startup and then updated
+ * as writes commit (player updates, creations, imports, currency changes).
+ * Every update carries the row's [User].Version; older versions are ignored,
+ * so updates arriving out of order cannot roll a score back.
+ *
+ * Writes made outside this node (game writes to [User], other nodes) and
+ * removed players are picked up by a scheduled rebuild: fresh boards are
+ * loaded off to the side and swapped in. Writes recorded while the load runs
+ * are applied to both, so the new boards do not miss them.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int STRIPES = 64;
+
+    public enum Board {
+        LEVEL, COIN, DIAMOND, GEM;
+
+        // @return the board, or null for an unknown name
+        public static Board parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    @Autowired
+    private LeaderboardRepository leaderboardRepository;
+
+    private volatile Boards boards = new Boards();
+    // Boards being loaded by a rebuild, also given every write meanwhile; null when no rebuild runs
+    private Boards loading;
+    // Writers hold the read lock; starting and swapping a rebuild holds the write lock
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object[] locks = new Object[STRIPES];
+
+    public LeaderboardService() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private static class Standing {
+        private final long version;
+        private final String userName;
+
+        private Standing(long version, String userName) {
+            this.version = version;
+            this.userName = userName;
+        }
+    }
+
+    // One complete set of boards
+    private static class Boards {
+        private final Map<Board, Ranking> rankings = new EnumMap<>(Board.class);
+        // playerId -> version and name of the last applied row
+        private final Map<Integer, Standing> standings = new ConcurrentHashMap<>();
+
+        private Boards() {
+            for (Board board : Board.values()) {
+                rankings.put(board, new Ranking());
+            }
+        }
+
+        // Caller holds the player's stripe lock
+        private void apply(Integer playerId, String userName, long version, Integer level, Integer coin,
+                Integer diamond, Integer gem) {
+            Standing current = standings.get(playerId);
+            // An equal version is applied again: a re-read may carry a change made without bumping Version
+            if (current != null && current.version > version) {
+                return;
+            }
+            standings.put(playerId, new Standing(version, userName));
+            rankings.get(Board.LEVEL).put(playerId, level != null ? level : 0);
+            rankings.get(Board.COIN).put(playerId, coin != null ? coin : 0);
+            rankings.get(Board.DIAMOND).put(playerId, diamond != null ? diamond : 0);
+            rankings.get(Board.GEM).put(playerId, gem != null ? gem : 0);
+        }
+
+        private String userName(int playerId) {
+            Standing standing = standings.get(playerId);
+            return standing != null ? standing.userName : null;
+        }
+    }
+
+    // One board: the ranking tree plus each player's current key in it
+    private static class Ranking {
+        private final OrderStatisticTree tree = new OrderStatisticTree();
+        private final Map<Integer, Long> scores = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private void put(Integer playerId, long score) {
+            lock.writeLock().lock();
+            try {
+                Long previous = scores.put(playerId, score);
+                if (previous != null) {
+                    if (previous == score) {
+                        return;
+                    }
+                    tree.remove(previous, playerId);
+                }
+                tree.insert(score, playerId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    // Load fresh boards from [User] and swap them in; rows replace whatever the old boards held
+    @Scheduled(fixedDelayString = "${players.leaderboard.rebuild-interval:600000}",
+            initialDelayString = "${players.leaderboard.rebuild-interval:600000}")
+    public void rebuild() {
+        Boards fresh = new Boards();
+        swapLock.writeLock().lock();
+        try {
+            if (loading != null) {
+                return; // a rebuild is already running
+            }
+            loading = fresh;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            // A row older than a write already applied to the fresh boards is skipped by its version
+            leaderboardRepository.forEachStanding(rs -> {
+                Integer playerId = rs.getInt("ID");
+                synchronized (lockFor(playerId)) {
+                    fresh.apply(playerId, rs.getString("UserName"), rs.getLong("Version"),
+                            (Integer) rs.getObject("Level"), (Integer) rs.getObject("Coin"),
+                            (Integer) rs.getObject("Diamond"), (Integer) rs.getObject("Gem"));
+                }
+            });
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                loading = null; // keep the current boards, which already include every write
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            boards = fresh;
+            loading = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        logger.info("Loaded leaderboards for {} players in {} ms", fresh.standings.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply a player's committed values
+     *
+     * @param version [User].Version of the row the values were read from
+     */
+    public void record(Integer playerId, String userName, long version, Integer level, Integer coin,
+            Integer diamond, Integer gem) {
+        swapLock.readLock().lock();
+        try {
+            synchronized (lockFor(playerId)) {
+                boards.apply(playerId, userName, version, level, coin, diamond, gem);
+                if (loading != null) {
+                    loading.apply(playerId, userName, version, level, coin, diamond, gem);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Apply a player as returned by a write
+    public void record(PlayerDTO player) {
+        if (player != null && player.getId() != null && player.getVersion() != null) {
+            record(player.getId(), player.getUserName(), player.getVersion(), player.getLevel(), player.getCoin(),
+                    player.getDiamond(), player.getGem());
+        }
+    }
+
+    // Apply a row with columns ID, UserName, Version, Level, Coin, Diamond, Gem
+    public void record(ResultSet rs) throws SQLException {
+        record(rs.getInt("ID"), rs.getString("UserName"), rs.getLong("Version"), (Integer) rs.getObject("Level"),
+                (Integer) rs.getObject("Coin"), (Integer) rs.getObject("Diamond"), (Integer) rs.getObject("Gem"));
+    }
+
+    // Re-read players changed by statements that cannot return their rows (batches)
+    public void refreshPlayers(Collection<Integer> playerIds) {
+        if (!playerIds.isEmpty()) {
+            leaderboardRepository.forEachStandingById(playerIds, this::record);
+        }
+    }
+
+    public void refreshByEmails(Collection<String> emails) {
+        if (!emails.isEmpty()) {
+            leaderboardRepository.forEachStandingByEmail(emails, this::record);
+        }
+    }
+
+    /**
+     * Entries from a 1-based rank
+     *
+     * @param fromRank first rank to return (1 = top)
+     * @param count    maximum number of entries
+     */
+    public List<LeaderboardEntry> getRange(Board board, int fromRank, int count) {
+        Boards current = boards;
+        Ranking ranking = current.rankings.get(board);
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        ranking.lock.readLock().lock();
+        try {
+            int from = Math.max(fromRank, 1) - 1;
+            int to = Math.min(from + Math.max(count, 0), ranking.tree.size());
+            for (int i = from; i < to; i++) {
+                int playerId = ranking.tree.idAt(i);
+                entries.add(new LeaderboardEntry(i + 1, playerId, current.userName(playerId),
+                        ranking.tree.scoreAt(i)));
+            }
+        } finally {
+            ranking.lock.readLock().unlock();
+        }
+        return entries;
+    }
+
+    public List<LeaderboardEntry> getTop(Board board, int limit) {
+        return getRange(board, 1, limit);
+    }
+
+    // Entries within radius of a 1-based rank, clipped to the board
+    public List<LeaderboardEntry> getAround(Board board, int rank, int radius) {
+        int from = Math.max(rank - radius, 1);
+        return getRange(board, from, rank + radius - from + 1);
+    }
+
+    // @return the player's entry, or empty if the player is not ranked
+    public Optional<LeaderboardEntry> getRank(Board board, Integer playerId) {
+        Boards current = boards;
+        Ranking ranking = current.rankings.get(board);
+        ranking.lock.readLock().lock();
+        try {
+            Long score = ranking.scores.get(playerId);
+            if (score == null) {
+                return Optional.empty();
+            }
+            int rank = ranking.tree.rank(score, playerId);
+            return Optional.of(new LeaderboardEntry(rank + 1, playerId, current.userName(playerId), score));
+        } finally {
+            ranking.lock.readLock().unlock();
+        }
+    }
+
+    public int getSize(Board board) {
+        Ranking ranking = boards.rankings.get(board);
+        ranking.lock.readLock().lock();
+        try {
+            return ranking.tree.size();
+        } finally {
+            ranking.lock.readLock().unlock();
+        }
+    }
+
+    private Object lockFor(Integer playerId) {
+        return locks[(playerId.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+}
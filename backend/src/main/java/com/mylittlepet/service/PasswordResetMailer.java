@@ -0,0 +1,15 @@
+package com.mylittlepet.service;
+
+/**
+ * Delivers a password reset token to its owner. The raw token is a working
+ * credential: implementations must hand it only to the user, never to logs.
+ */
+public interface PasswordResetMailer {
+
+    void sendResetToken(String email, String rawToken);
+
+    // False when tokens cannot reach their owners; reset requests are then refused
+    default boolean isAvailable() {
+        return true;
+    }
+}
@@ -0,0 +1,160 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.entity.PasswordResetToken;
+import com.mylittlepet.entity.User;
+import com.mylittlepet.exception.PasswordResetUnavailableException;
+import com.mylittlepet.repository.PasswordResetTokenRepository;
+import com.mylittlepet.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues, looks up and purges password reset tokens.
+ *
+ * Only the SHA-256 hex digest of a token is stored, so lookups go through the
+ * unique index on a fixed-width column and a leaked table does not leak usable
+ * tokens. Requests are answered before the email is even looked up: the
+ * lookup and token write run on a single background worker, so the response
+ * time does not reveal whether an account exists. The raw token leaves the
+ * process only through the PasswordResetMailer.
+ */
+@Service
+public class PasswordResetTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenService.class);
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetMailer passwordResetMailer;
+
+    @Value("${password-reset.token.expiration-minutes:60}")
+    private long expirationMinutes;
+
+    @Value("${password-reset.purge.batch-size:500}")
+    private int purgeBatchSize;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // One worker with a bounded queue; overflow is dropped like an unknown email
+    private final ThreadPoolExecutor issuer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(256),
+            r -> {
+                Thread thread = new Thread(r, "password-reset-issuer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    @PreDestroy
+    public void shutdown() {
+        issuer.shutdown();
+    }
+
+    /**
+     * Queue a reset token for the email; does the same work whether or not the
+     * account exists
+     *
+     * @throws PasswordResetUnavailableException if no mail delivery is configured
+     */
+    public void requestReset(String email) {
+        if (!passwordResetMailer.isAvailable()) {
+            throw new PasswordResetUnavailableException();
+        }
+        String rawToken = newToken();
+        String tokenHash = hash(rawToken);
+        try {
+            issuer.execute(() -> issue(email, rawToken, tokenHash));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password reset queue full, request dropped");
+        }
+    }
+
+    // Valid (known, unused, unexpired) token, looked up by digest
+    public Optional<PasswordResetToken> findValidToken(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        return passwordResetTokenRepository.findByToken(hash(rawToken))
+                .filter(token -> !token.isExpired() && !token.isUsed());
+    }
+
+    public void markUsed(PasswordResetToken token) {
+        token.setUsed(true);
+        passwordResetTokenRepository.save(token);
+    }
+
+    // Delete expired and used tokens in chunks so no single statement holds long locks
+    @Scheduled(fixedDelayString = "${password-reset.purge.interval:900000}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = passwordResetTokenRepository.deleteExpiredOrUsedBatch(now, purgeBatchSize);
+                total += deleted;
+            } while (deleted == purgeBatchSize);
+        } catch (Exception e) {
+            logger.warn("Failed to purge password reset tokens: {}", e.getMessage());
+        }
+        if (total > 0) {
+            logger.info("Purged {} expired or used password reset tokens", total);
+        }
+    }
+
+    private void issue(String email, String rawToken, String tokenHash) {
+        try {
+            Optional<User> userOptional = userRepository.findByEmail(email);
+            if (userOptional.isEmpty()) {
+                return;
+            }
+
+            // Only the latest token for an email is valid
+            passwordResetTokenRepository.deleteByEmail(email);
+            passwordResetTokenRepository.save(new PasswordResetToken(tokenHash, email,
+                    LocalDateTime.now().plusMinutes(expirationMinutes)));
+
+            passwordResetMailer.sendResetToken(email, rawToken);
+        } catch (Exception e) {
+            logger.warn("Failed to issue password reset token: {}", e.getMessage());
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
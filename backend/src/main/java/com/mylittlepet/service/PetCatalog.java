@@ -0,0 +1,162 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.dto.PetDTO;
+import com.mylittlepet.entity.Pet;
+import com.mylittlepet.repository.PetRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory copy of the Pet catalog (a small, rarely changing table).
+ *
+ * Holds an immutable snapshot indexed by id, type and status that is swapped
+ * as a whole after every pet write made through PetServiceImpl. Changes made
+ * elsewhere (other nodes, the game) are caught by a cheap count-and-checksum
+ * query every few seconds, which reloads only when the table changed; a slow
+ * full reload covers the rare change the aggregate checksum cannot see. Each snapshot carries a version
+ * derived from its content, used as the ETag of catalog responses: the same
+ * catalog yields the same version on every node and across restarts.
+ */
+@Service
+public class PetCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PetCatalog.class);
+
+    @Autowired
+    private PetRepository petRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList());
+
+    // Pet table checksum read just before the current snapshot was loaded
+    private volatile String loadedChecksum;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${pets.catalog.refresh-interval:300000}",
+            initialDelayString = "${pets.catalog.refresh-interval:300000}")
+    public synchronized void reload() {
+        // Read first, so a change made while the rows load triggers another reload
+        String checksum = petRepository.findCatalogChecksum();
+        List<PetDTO> pets = new ArrayList<>();
+        for (Pet pet : petRepository.findAllPets()) {
+            pets.add(new PetDTO(pet.getPetId(), pet.getAdminId(), pet.getPetType(), pet.getPetDefaultName(),
+                    pet.getDescription(), pet.getPetStatus()));
+        }
+        Snapshot loaded = new Snapshot(pets);
+        if (!loaded.version.equals(snapshot.version)) {
+            snapshot = loaded;
+            logger.debug("Pet catalog loaded: {} pets, version {}", pets.size(), loaded.version);
+        }
+        loadedChecksum = checksum;
+    }
+
+    // Reload if the Pet table changed since the snapshot was loaded
+    @Scheduled(fixedDelayString = "${pets.catalog.check-interval:5000}",
+            initialDelayString = "${pets.catalog.check-interval:5000}")
+    public void checkForChanges() {
+        try {
+            if (!petRepository.findCatalogChecksum().equals(loadedChecksum)) {
+                reload();
+            }
+        } catch (Exception e) {
+            logger.warn("Pet catalog change check failed: {}", e.getMessage());
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // @return the catalog name, or null for an unknown pet
+    public String getPetDefaultName(Integer petId) {
+        PetDTO pet = snapshot.getById(petId);
+        return pet != null ? pet.getPetDefaultName() : null;
+    }
+
+    /**
+     * One immutable catalog state. Lists are unmodifiable and ordered by petId
+     * descending (as the Pet queries are); the PetDTOs are shared and must not
+     * be modified.
+     */
+    public static final class Snapshot {
+        private final String version;
+        private final List<PetDTO> all;
+        private final Map<Integer, PetDTO> byId = new HashMap<>();
+        private final Map<String, List<PetDTO>> byType = new HashMap<>();
+        private final Map<Integer, List<PetDTO>> byStatus = new HashMap<>();
+
+        private Snapshot(List<PetDTO> pets) {
+            List<PetDTO> sorted = new ArrayList<>(pets);
+            sorted.sort(Comparator.comparing(PetDTO::getPetId, Comparator.nullsLast(Comparator.reverseOrder())));
+            this.all = Collections.unmodifiableList(sorted);
+            for (PetDTO pet : sorted) {
+                byId.put(pet.getPetId(), pet);
+                byType.computeIfAbsent(typeKey(pet.getPetType()), k -> new ArrayList<>()).add(pet);
+                byStatus.computeIfAbsent(pet.getPetStatus(), k -> new ArrayList<>()).add(pet);
+            }
+            byType.replaceAll((type, list) -> Collections.unmodifiableList(list));
+            byStatus.replaceAll((status, list) -> Collections.unmodifiableList(list));
+            this.version = hash(sorted);
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public List<PetDTO> getAll() {
+            return all;
+        }
+
+        public PetDTO getById(Integer petId) {
+            return petId != null ? byId.get(petId) : null;
+        }
+
+        // Case-insensitive, as the database collation compares types
+        public List<PetDTO> getByType(String petType) {
+            return byType.getOrDefault(typeKey(petType), Collections.emptyList());
+        }
+
+        public List<PetDTO> getByStatus(Integer petStatus) {
+            return byStatus.getOrDefault(petStatus, Collections.emptyList());
+        }
+
+        private static String typeKey(String petType) {
+            return petType != null ? petType.toLowerCase(Locale.ROOT) : null;
+        }
+
+        // Hash of every field of every pet, in order
+        private static String hash(List<PetDTO> pets) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (PetDTO pet : pets) {
+                    String row = pet.getPetId() + "\u0000" + pet.getAdminId() + "\u0000" + pet.getPetType()
+                            + "\u0000" + pet.getPetDefaultName() + "\u0000" + pet.getDescription() + "\u0000"
+                            + pet.getPetStatus() + "\u0001";
+                    digest.update(row.getBytes(StandardCharsets.UTF_8));
+                }
+                return HexFormat.of().formatHex(digest.digest(), 0, 12);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mylittlepet.service;
 
+import com.mylittlepet.dto.PetBulkResult;
 import com.mylittlepet.dto.PetDTO;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +22,9 @@ public interface PetService {
     // Search pets
     List<PetDTO> searchPets(String keyword);
 
+    // Version of the current pet catalog, changes whenever any pet does
+    String getCatalogVersion();
+
     // Create new pet
     PetDTO createPet(PetDTO petDTO);
 
@@ -29,4 +33,13 @@ public interface PetService {
 
     // Delete pet (soft delete by changing status)
     boolean deletePet(Integer petId);
+
+    // Bulk create: valid pets are inserted in one transaction, invalid ones reported
+    PetBulkResult createPets(List<PetDTO> pets);
+
+    // Bulk update by petId (null fields unchanged), in one transaction
+    PetBulkResult updatePets(List<PetDTO> pets);
+
+    // Bulk soft delete, in one transaction
+    PetBulkResult deletePets(List<Integer> petIds);
 }
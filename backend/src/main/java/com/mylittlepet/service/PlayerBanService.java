@@ -0,0 +1,186 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.repository.PlayerBanRepository;
+import com.mylittlepet.util.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Player bans with optional expiry.
+ *
+ * Bans are stored on the player row ([User].Status and BanEndsAt), which is
+ * the only source of ban state: player reads map it from PLAYER_COLUMNS and
+ * the currency write path checks it in the same statement that changes the
+ * balance. A timed ban whose end has passed counts as lifted there even
+ * before the row is cleared.
+ *
+ * The in-memory map only drives expiry: each timed ban parks one timeout on
+ * a hashed timing wheel; when it fires the player is queued, and a scheduled
+ * job clears all queued rows with batched updates, so nothing ever scans the
+ * table for expired bans. It holds the bans loaded at startup plus those made
+ * through this instance.
+ */
+@Service
+public class PlayerBanService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerBanService.class);
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    private PlayerBanRepository playerBanRepository;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Value("${players.ban.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${players.ban.wheel-size:3600}")
+    private int wheelSize;
+
+    private HashedTimingWheel timingWheel;
+
+    // playerId -> ban with a pending expiry (or permanent); absent = not banned as far as this node knows
+    private final Map<Integer, Ban> bans = new ConcurrentHashMap<>();
+    // Players whose ban timeout fired, waiting for the next lift job
+    private final Queue<Integer> expired = new ConcurrentLinkedQueue<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public PlayerBanService() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private static class Ban {
+        private final Long endsAt; // null = permanent
+        private final HashedTimingWheel.Timeout timeout;
+
+        private Ban(Long endsAt, HashedTimingWheel.Timeout timeout) {
+            this.endsAt = endsAt;
+            this.timeout = timeout;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        timingWheel = new HashedTimingWheel("player-bans", tickMs, wheelSize);
+        timingWheel.start();
+
+        // Bans that ended while we were down are lifted on the first tick
+        Map<Integer, Long> stored = playerBanRepository.findActiveBans();
+        stored.forEach((playerId, endsAt) -> bans.put(playerId, new Ban(endsAt, arm(playerId, endsAt))));
+        logger.info("Loaded {} player bans", stored.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+    }
+
+    /**
+     * Ban a player, replacing any current ban
+     *
+     * @param endsAt epoch ms when the ban ends, or null for a permanent ban
+     * @return false if there is no such player
+     */
+    public boolean ban(Integer playerId, Long endsAt) {
+        synchronized (lockFor(playerId)) {
+            String previous = playerBanRepository.ban(playerId, endsAt);
+            if (previous == null) {
+                return false;
+            }
+            replace(playerId, new Ban(endsAt, arm(playerId, endsAt)));
+            if (!PlayerBanRepository.STATUS_BANNED.equals(previous)) {
+                adminStatsService.bansChanged(1);
+            }
+            return true;
+        }
+    }
+
+    // @return false if there is no such player
+    public boolean unban(Integer playerId) {
+        synchronized (lockFor(playerId)) {
+            String previous = playerBanRepository.unban(playerId);
+            if (previous == null) {
+                return false;
+            }
+            replace(playerId, null);
+            if (PlayerBanRepository.STATUS_BANNED.equals(previous)) {
+                adminStatsService.bansChanged(-1);
+            }
+            return true;
+        }
+    }
+
+    // Lift every ban whose timeout fired since the last run, in one batch
+    @Scheduled(fixedDelayString = "${players.ban.lift-interval:1000}")
+    public void liftExpiredBans() {
+        Set<Integer> due = new LinkedHashSet<>();
+        for (Integer playerId = expired.poll(); playerId != null; playerId = expired.poll()) {
+            due.add(playerId);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Integer> playerIds = new ArrayList<>();
+        List<Ban> lifted = new ArrayList<>();
+        for (Integer playerId : due) {
+            Ban ban = bans.get(playerId);
+            if (ban != null && ban.endsAt != null && ban.endsAt <= now) {
+                playerIds.add(playerId);
+                lifted.add(ban);
+            }
+        }
+        if (playerIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            adminStatsService.bansChanged(-playerBanRepository.liftExpired(playerIds, now));
+        } catch (Exception e) {
+            // Still banned in the database; retry with the next run
+            logger.warn("Failed to lift {} expired bans: {}", playerIds.size(), e.getMessage());
+            expired.addAll(playerIds);
+            return;
+        }
+
+        // Only drop the bans that were lifted; a ban replaced meanwhile stays
+        for (int i = 0; i < playerIds.size(); i++) {
+            bans.remove(playerIds.get(i), lifted.get(i));
+        }
+    }
+
+    private HashedTimingWheel.Timeout arm(Integer playerId, Long endsAt) {
+        return endsAt != null ? timingWheel.schedule(() -> expired.add(playerId), endsAt) : null;
+    }
+
+    private void replace(Integer playerId, Ban ban) {
+        Ban previous = ban != null ? bans.put(playerId, ban) : bans.remove(playerId);
+        if (previous != null && previous.timeout != null) {
+            previous.timeout.cancel();
+        }
+    }
+
+    private Object lockFor(Integer playerId) {
+        return locks[(playerId.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+}
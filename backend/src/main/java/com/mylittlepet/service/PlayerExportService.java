@@ -0,0 +1,153 @@
+package com.mylittlepet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.repository.PlayerPetRepository;
+import com.mylittlepet.repository.PlayerRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Writes players and owned pets as NDJSON or CSV straight from a forward-only
+ * JPA result stream (fetch size 1000, read-only, unmanaged rows) to the
+ * response, so heap use does not depend on table size. The first row is
+ * flushed immediately; after that output goes out as the buffer fills.
+ *
+ * Each export holds a pooled connection for the whole download, so at most
+ * players.export.max-concurrent run at once; callers take a slot with
+ * tryStartExport and give it back with exportFinished.
+ */
+@Service
+public class PlayerExportService {
+
+    private static final String[] PLAYER_COLUMNS = { "id", "userName", "email", "level", "coin", "diamond", "gem",
+            "joinDate", "totalPets" };
+
+    private static final String[] PLAYER_PET_COLUMNS = { "playerPetId", "playerId", "petId", "petCustomName",
+            "status", "adoptedAt", "lastStatusUpdate", "petDefaultName" };
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerPetRepository playerPetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${players.export.max-concurrent:2}")
+    private int maxConcurrentExports;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private Semaphore exportSlots;
+
+    @Autowired
+    public PlayerExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        exportSlots = new Semaphore(Math.max(maxConcurrentExports, 1));
+    }
+
+    // @return false if max-concurrent exports are already running
+    public boolean tryStartExport() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void exportFinished() {
+        exportSlots.release();
+    }
+
+    public void exportPlayers(OutputStream out, boolean csv) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PlayerDTO> players = playerRepository.streamAllPlayers()) {
+                write(out, csv, PLAYER_COLUMNS, players.map(p -> new Object[] { p.getId(), p.getUserName(),
+                        p.getEmail(), p.getLevel(), p.getCoin(), p.getDiamond(), p.getGem(), p.getJoinDate(),
+                        p.getTotalPets() }).iterator());
+            }
+        });
+    }
+
+    public void exportPlayerPets(OutputStream out, boolean csv) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = playerPetRepository.streamAllWithPetNames()) {
+                write(out, csv, PLAYER_PET_COLUMNS, rows.iterator());
+            }
+        });
+    }
+
+    private void write(OutputStream out, boolean csv, String[] columns, Iterator<Object[]> rows) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            if (csv) {
+                writer.write(String.join(",", columns));
+                writer.write("\r\n");
+            }
+
+            boolean first = true;
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                if (csv) {
+                    writeCsvRow(writer, row);
+                } else {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    for (int i = 0; i < columns.length; i++) {
+                        json.put(columns[i], row[i]);
+                    }
+                    writer.write(objectMapper.writeValueAsString(json));
+                    writer.write('\n');
+                }
+                if (first) {
+                    writer.flush(); // first byte out as soon as the first row is read
+                    first = false;
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // Usually the client went away; abort the query
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (row[i] == null) {
+                continue;
+            }
+            String value = row[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,470 @@
+package com.mylittlepet.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylittlepet.dto.PlayerImportReport;
+import com.mylittlepet.util.CsvReader;
+import com.mylittlepet.util.SqlParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streams a CSV or NDJSON upload of players into [User] without holding the
+ * file in memory.
+ *
+ * Rows are validated and de-duplicated (within the upload by normalized email
+ * and username, against the database via the availability index plus one IN
+ * query per chunk), then inserted with JDBC batch statements, one transaction
+ * per chunk. If a batch fails, that chunk is retried row by row so the error
+ * can be attributed to a line. Progress of running and recent jobs can be
+ * polled while an import is in flight.
+ */
+@Service
+public class PlayerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO [User] (Role, UserName, Email, Password, Level, Coin, " +
+            "Diamond, Gem, JoinDate) VALUES ('Player', ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Same default as PlayerServiceImpl.createPlayer
+    private static final String DEFAULT_PASSWORD = "defaultPassword123";
+
+    private static final int RECENT_JOBS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Value("${players.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${players.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Running and recently finished jobs, oldest first
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    /**
+     * Import players from a stream; runs on the calling thread until the stream is consumed
+     *
+     * @param input  upload body
+     * @param format "csv" (header row required) or "ndjson" (one JSON object per line)
+     * @return final report
+     */
+    public PlayerImportReport importPlayers(InputStream input, String format) {
+        ImportJob job = new ImportJob(format);
+        synchronized (jobs) {
+            jobs.put(job.jobId, job);
+            if (jobs.size() > RECENT_JOBS) {
+                jobs.entrySet().removeIf(e -> !"RUNNING".equals(e.getValue().status) && jobs.size() > RECENT_JOBS);
+            }
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8),
+                64 * 1024)) {
+            RowSource source = "ndjson".equals(format) ? new NdjsonSource(reader) : new CsvSource(reader);
+            Set<String> seenEmails = new HashSet<>();
+            Set<String> seenUserNames = new HashSet<>();
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+            while (true) {
+                PendingRow row;
+                try {
+                    row = source.next();
+                } catch (RowException e) {
+                    job.rowsRead++;
+                    job.fail(e.line, e.getMessage());
+                    continue;
+                }
+                if (row == null) {
+                    break;
+                }
+                job.rowsRead++;
+
+                String error = validate(row);
+                if (error != null) {
+                    job.fail(row.line, error);
+                    continue;
+                }
+                if (!seenEmails.add(normalize(row.email)) || !seenUserNames.add(normalize(row.userName))) {
+                    job.duplicate(row.line, "Duplicate email or username in upload");
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    flush(job, chunk);
+                    chunk.clear();
+                }
+            }
+            flush(job, chunk);
+            job.status = "COMPLETED";
+        } catch (Exception e) {
+            job.status = "FAILED";
+            job.message = e.getMessage();
+            logger.warn("Player import {} failed after {} rows: {}", job.jobId, job.rowsRead, e.getMessage());
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+        }
+
+        logger.info("Player import {} {}: {} read, {} inserted, {} duplicates, {} failed in {} ms", job.jobId,
+                job.status, job.rowsRead, job.inserted, job.duplicates, job.failed, job.finishedAt - job.startedAt);
+        return job.snapshot();
+    }
+
+    public Optional<PlayerImportReport> getJob(String jobId) {
+        synchronized (jobs) {
+            ImportJob job = jobs.get(jobId);
+            return job != null ? Optional.of(job.snapshot()) : Optional.empty();
+        }
+    }
+
+    public List<PlayerImportReport> getRecentJobs() {
+        synchronized (jobs) {
+            List<PlayerImportReport> reports = new ArrayList<>();
+            jobs.values().forEach(job -> reports.add(job.snapshot()));
+            Collections.reverse(reports);
+            return reports;
+        }
+    }
+
+    private void flush(ImportJob job, List<PendingRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Drop rows whose email or username is already taken in the database
+        List<PendingRow> candidates = new ArrayList<>();
+        for (PendingRow row : chunk) {
+            if (availabilityIndex.emailMightExist(row.email) || availabilityIndex.userNameMightExist(row.userName)) {
+                candidates.add(row);
+            }
+        }
+        Set<String> taken = findTaken(candidates);
+        List<PendingRow> rows = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (taken.contains("e:" + normalize(row.email)) || taken.contains("u:" + normalize(row.userName))) {
+                job.duplicate(row.line, "Email or username already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp joinDate = Timestamp.valueOf(LocalDateTime.now());
+        List<String> insertedEmails = new ArrayList<>(rows.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows,
+                    rows.size(), (ps, row) -> bind(ps, row, joinDate)));
+            job.inserted += rows.size();
+            rows.forEach(row -> availabilityIndex.record(row.userName, row.email));
+            rows.forEach(row -> insertedEmails.add(row.email));
+            rows.forEach(row -> adminStatsService.playerCreated(row.coin, row.diamond, row.gem,
+                    joinDate.toLocalDateTime()));
+        } catch (DataAccessException batchFailure) {
+            // Retry one by one so the failing lines can be reported
+            for (PendingRow row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row, joinDate));
+                    job.inserted++;
+                    availabilityIndex.record(row.userName, row.email);
+                    insertedEmails.add(row.email);
+                    adminStatsService.playerCreated(row.coin, row.diamond, row.gem, joinDate.toLocalDateTime());
+                } catch (DataAccessException e) {
+                    job.fail(row.line, e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        // Batch inserts do not return the new IDs; read the rows back for the leaderboards
+        try {
+            leaderboardService.refreshByEmails(insertedEmails);
+        } catch (DataAccessException e) {
+            logger.warn("Could not add {} imported players to the leaderboards: {}", insertedEmails.size(),
+                    e.getMessage());
+        }
+    }
+
+    // Normalized "e:<email>" / "u:<username>" keys of candidates that exist in [User]
+    private Set<String> findTaken(List<PendingRow> candidates) {
+        Set<String> taken = new HashSet<>();
+        // Each candidate binds its email and its username
+        for (List<PendingRow> slice : SqlParameters.slices(candidates, 2)) {
+            String placeholders = SqlParameters.placeholders(slice.size());
+            List<Object> params = new ArrayList<>();
+            slice.forEach(row -> params.add(row.email));
+            slice.forEach(row -> params.add(row.userName));
+            jdbcTemplate.query("SELECT Email, UserName FROM [User] WHERE Email IN (" + placeholders + ") " +
+                    "OR UserName IN (" + placeholders + ")", rs -> {
+                        if (rs.getString("Email") != null) {
+                            taken.add("e:" + normalize(rs.getString("Email")));
+                        }
+                        if (rs.getString("UserName") != null) {
+                            taken.add("u:" + normalize(rs.getString("UserName")));
+                        }
+                    }, params.toArray());
+        }
+        return taken;
+    }
+
+    private static void bind(PreparedStatement ps, PendingRow row, Timestamp joinDate) throws SQLException {
+        ps.setString(1, row.userName);
+        ps.setString(2, row.email);
+        ps.setString(3, DEFAULT_PASSWORD);
+        ps.setInt(4, row.level);
+        ps.setInt(5, row.coin);
+        ps.setInt(6, row.diamond);
+        ps.setInt(7, row.gem);
+        ps.setTimestamp(8, joinDate);
+    }
+
+    private static String validate(PendingRow row) {
+        if (row.userName == null || row.userName.length() < 3 || row.userName.length() > 100) {
+            return "Username must be between 3 and 100 characters";
+        }
+        if (row.email == null || !row.email.contains("@") || row.email.length() > 100) {
+            return "Invalid email";
+        }
+        if (row.level < 0 || row.coin < 0 || row.diamond < 0 || row.gem < 0) {
+            return "Level and currencies must not be negative";
+        }
+        return null;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class PendingRow {
+        private long line;
+        private String userName;
+        private String email;
+        private int level = 1;
+        private int coin;
+        private int diamond;
+        private int gem;
+    }
+
+    private static class RowException extends IOException {
+        private final long line;
+
+        private RowException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+    }
+
+    private interface RowSource {
+        // Next row, or null at end of input; RowException for a malformed row
+        PendingRow next() throws IOException;
+    }
+
+    private static class CsvSource implements RowSource {
+        private final CsvReader csv;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvSource(BufferedReader reader) throws IOException {
+            this.csv = new CsvReader(reader);
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new IOException("Empty upload");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().replace("\uFEFF", "").toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("username") || !columns.containsKey("email")) {
+                throw new IOException("CSV header must contain userName and email columns");
+            }
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            List<String> record;
+            long line;
+            do {
+                line = csv.getLineNumber();
+                record = csv.readRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+
+            PendingRow row = new PendingRow();
+            row.line = line;
+            try {
+                row.userName = trimToNull(get(record, "username"));
+                row.email = trimToNull(get(record, "email"));
+                row.level = parseInt(get(record, "level"), 1);
+                row.coin = parseInt(get(record, "coin"), 0);
+                row.diamond = parseInt(get(record, "diamond"), 0);
+                row.gem = parseInt(get(record, "gem"), 0);
+            } catch (NumberFormatException e) {
+                throw new RowException(line, "Invalid number: " + e.getMessage());
+            }
+            return row;
+        }
+
+        private String get(List<String> record, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < record.size() ? record.get(index) : null;
+        }
+    }
+
+    private class NdjsonSource implements RowSource {
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PendingRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+
+            PendingRow row = new PendingRow();
+            row.line = lineNumber;
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                row.userName = trimToNull(text(node, "userName"));
+                row.email = trimToNull(text(node, "email"));
+                row.level = parseInt(text(node, "level"), 1);
+                row.coin = parseInt(text(node, "coin"), 0);
+                row.diamond = parseInt(text(node, "diamond"), 0);
+                row.gem = parseInt(text(node, "gem"), 0);
+            } catch (NumberFormatException e) {
+                throw new RowException(lineNumber, "Invalid number: " + e.getMessage());
+            } catch (IOException e) {
+                throw new RowException(lineNumber, "Invalid JSON");
+            }
+            return row;
+        }
+
+        private String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    // Mutable progress of one import; written by the importing thread, read by pollers
+    private class ImportJob {
+        private final String jobId = UUID.randomUUID().toString();
+        private final String format;
+        private final long startedAt = System.currentTimeMillis();
+        private final List<PlayerImportReport.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile String message;
+        private volatile long rowsRead;
+        private volatile long inserted;
+        private volatile long duplicates;
+        private volatile long failed;
+        private volatile long errorsOmitted;
+        private volatile Long finishedAt;
+
+        private ImportJob(String format) {
+            this.format = format;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            report(line, message);
+        }
+
+        private void duplicate(long line, String message) {
+            duplicates++;
+            report(line, message);
+        }
+
+        private void report(long line, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new PlayerImportReport.RowError(line, message));
+            } else {
+                errorsOmitted++;
+            }
+        }
+
+        private PlayerImportReport snapshot() {
+            PlayerImportReport report = new PlayerImportReport();
+            report.setJobId(jobId);
+            report.setFormat(format);
+            report.setStatus(status);
+            report.setMessage(message);
+            report.setRowsRead(rowsRead);
+            report.setInserted(inserted);
+            report.setDuplicates(duplicates);
+            report.setFailed(failed);
+            synchronized (errors) {
+                report.setErrors(new ArrayList<>(errors));
+            }
+            report.setErrorsOmitted(errorsOmitted);
+            report.setStartedAt(startedAt);
+            report.setFinishedAt(finishedAt);
+            report.setElapsedMs((finishedAt != null ? finishedAt : System.currentTimeMillis()) - startedAt);
+            return report;
+        }
+    }
+}
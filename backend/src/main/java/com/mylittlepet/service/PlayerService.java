@@ -1,13 +1,16 @@
 package com.mylittlepet.service;
 
+import com.mylittlepet.dto.CursorPage;
 import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.dto.PlayerPageRequest;
+import com.mylittlepet.dto.PlayerProfileDTO;
 import java.util.List;
 import java.util.Optional;
 
 public interface PlayerService {
 
-    // Get all players
-    List<PlayerDTO> getAllPlayers();
+    // Get one keyset-paginated page of players (throws IllegalArgumentException on a bad cursor)
+    CursorPage<PlayerDTO> getPlayersPage(PlayerPageRequest request);
 
     // Get player by ID
     Optional<PlayerDTO> getPlayerById(Integer id);
@@ -17,14 +20,21 @@ public interface PlayerService {
 
     // Get player by username
     Optional<PlayerDTO> getPlayerByUserName(String userName);
+
+    // Get many players by "id", "email" or "userName" keys, in key order (null where missing);
+    // throws IllegalArgumentException on an unknown key kind or a non-numeric id
+    List<PlayerDTO> getPlayersBatch(String by, List<String> keys);
     // Create new player
     PlayerDTO createPlayer(PlayerDTO playerDTO);
 
     // Update player
-    PlayerDTO updatePlayer(Integer id, PlayerDTO playerDTO); // Delete player (soft delete by changing status)
+    PlayerDTO updatePlayer(Integer id, PlayerDTO playerDTO); // Delete player (soft delete: permanent ban)
 
     boolean deletePlayer(Integer id);
 
     // Get all pets owned by a specific player
     List<com.mylittlepet.dto.PlayerPetDTO> getPlayerPets(Integer playerId);
+
+    // Get a player with one page of their pets (newest first) in a single round trip
+    Optional<PlayerProfileDTO> getPlayerProfile(Integer playerId, int petOffset, int petLimit);
 }
@@ -0,0 +1,59 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.repository.PlayerSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background job that recomputes the player_summary read model in ID-range
+ * chunks and repairs rows that drifted from PlayerPet (missed trigger, manual
+ * fixes, players created before the summary existed). Each chunk is its own
+ * statement so locks stay short.
+ */
+@Service
+public class PlayerSummaryReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerSummaryReconciler.class);
+
+    @Autowired
+    private PlayerSummaryRepository playerSummaryRepository;
+
+    @Value("${player-summary.reconcile.chunk-size:1000}")
+    private int chunkSize;
+
+    private volatile long lastRunAt;
+    private volatile int lastRunChanged;
+
+    @Scheduled(initialDelayString = "${player-summary.reconcile.initial-delay:10000}",
+            fixedDelayString = "${player-summary.reconcile.interval:600000}")
+    public void reconcile() {
+        try {
+            Integer maxId = playerSummaryRepository.findMaxPlayerId();
+            int changed = 0;
+            if (maxId != null) {
+                for (int from = 0; from < maxId; from += chunkSize) {
+                    changed += playerSummaryRepository.reconcileRange(from, Math.min(from + chunkSize, maxId));
+                }
+            }
+            lastRunAt = System.currentTimeMillis();
+            lastRunChanged = changed;
+            if (changed > 0) {
+                logger.info("Player summary reconciliation repaired {} rows", changed);
+            }
+        } catch (Exception e) {
+            logger.warn("Player summary reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    public long getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public int getLastRunChanged() {
+        return lastRunChanged;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mylittlepet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylittlepet.util.SerializedResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Ready-to-send bodies of catalog views (GET /api/pets, /api/shop-products,
+ * /api/shop-products/active), which return the same JSON to every admin until
+ * the catalog changes.
+ *
+ * Each view keeps one SerializedResponse; it is rebuilt (read, serialized with
+ * the MVC ObjectMapper and gzipped) only when the view's data version differs
+ * from the one it was built from. Concurrent requests for a stale view wait
+ * for a single rebuild.
+ */
+@Service
+public class ResponseSnapshotCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, SerializedResponse> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * @param version current data version of the view, read before the body
+     * @param body    reads the view; only called when the snapshot is stale
+     */
+    public SerializedResponse get(String view, String version, Supplier<?> body) {
+        SerializedResponse snapshot = snapshots.get(view);
+        if (snapshot != null && snapshot.getVersion().equals(version)) {
+            return snapshot;
+        }
+        return snapshots.compute(view, (key, current) -> current != null && current.getVersion().equals(version)
+                ? current
+                : SerializedResponse.of(objectMapper, version, body.get()));
+    }
+}
@@ -0,0 +1,191 @@
+package com.mylittlepet.service;
+
+import com.mylittlepet.security.AdminSession;
+import com.mylittlepet.security.SessionRegistry;
+import com.mylittlepet.util.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes "expiring" and "expired" events for admin sessions over
+ * server-sent events, replacing polling of /api/session/status.
+ *
+ * All subscriptions share one hashed timing wheel keyed on session expiry, so
+ * an idle subscriber costs one parked timeout and no requests. When a timeout
+ * fires the session is looked up again: if it was refreshed in the meantime the
+ * event is simply rescheduled for the new expiry. The wheel thread only hands
+ * fired timeouts to a small sender pool, so a slow client or a session lookup
+ * that goes to the store never delays the other timeouts.
+ */
+@Service
+public class SessionEventService {
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Value("${admin.session.warning.time}")
+    private long warningTimeInMs;
+
+    @Value("${admin.session.events.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${admin.session.events.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${admin.session.events.sender-threads:4}")
+    private int senderThreads;
+
+    private HashedTimingWheel timingWheel;
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "session-events-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        timingWheel = new HashedTimingWheel("session-events", tickMs, wheelSize);
+        timingWheel.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Open an event stream for a session
+     *
+     * @param sessionId admin session id (sid claim)
+     * @return emitter, or null if the session is not active
+     */
+    public SseEmitter subscribe(String sessionId) {
+        AdminSession session = sessionRegistry.getActiveSession(sessionId);
+        if (session == null) {
+            return null;
+        }
+
+        // No async timeout: the stream is always completed by the "expired" event,
+        // and refreshes extend the session it follows
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscription subscription = new Subscription(sessionId, emitter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        if (send(subscription, "status", session)) {
+            schedule(subscription, session);
+        }
+        return emitter;
+    }
+
+    // Arm the next timeout for the session's current expiry
+    private void schedule(Subscription subscription, AdminSession session) {
+        long warningAt = session.getExpiresAt() - warningTimeInMs;
+        if (!subscription.warned && System.currentTimeMillis() < warningAt) {
+            subscription.timeout = timingWheel.schedule(() -> dispatch(() -> onWarning(subscription)), warningAt);
+        } else {
+            subscription.timeout = timingWheel.schedule(() -> dispatch(() -> onExpiry(subscription)),
+                    session.getExpiresAt());
+        }
+    }
+
+    // Run a fired timeout on the sender pool, off the wheel thread
+    private void dispatch(Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    private void onWarning(Subscription subscription) {
+        AdminSession session = sessionRegistry.getActiveSession(subscription.sessionId);
+        if (session == null) {
+            onExpiry(subscription);
+            return;
+        }
+        if (session.getRemainingTimeInMs() > warningTimeInMs) {
+            schedule(subscription, session); // refreshed meanwhile
+            return;
+        }
+        subscription.warned = true;
+        if (send(subscription, "expiring", session)) {
+            schedule(subscription, session);
+        }
+    }
+
+    private void onExpiry(Subscription subscription) {
+        AdminSession session = sessionRegistry.getActiveSession(subscription.sessionId);
+        if (session != null) {
+            // Session was refreshed: re-arm the warning for the new expiry
+            subscription.warned = session.getRemainingTimeInMs() <= warningTimeInMs;
+            schedule(subscription, session);
+            return;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("remainingTimeInMs", 0);
+        data.put("isAboutToExpire", false);
+        data.put("message", "Session has expired. Please log in again.");
+        try {
+            subscription.emitter.send(SseEmitter.event().name("expired").data(data));
+        } catch (IOException | IllegalStateException e) {
+            // client already gone
+        }
+        subscription.emitter.complete();
+    }
+
+    private boolean send(Subscription subscription, String eventName, AdminSession session) {
+        long remainingTimeInMs = session.getRemainingTimeInMs();
+        boolean isAboutToExpire = remainingTimeInMs <= warningTimeInMs;
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("remainingTimeInMs", remainingTimeInMs);
+        data.put("remainingTimeInMinutes", remainingTimeInMs / (1000 * 60));
+        data.put("isAboutToExpire", isAboutToExpire);
+        data.put("message",
+                isAboutToExpire ? "Session will expire soon. Please refresh or you will be logged out."
+                        : "Session is active");
+        try {
+            subscription.emitter.send(SseEmitter.event().name(eventName).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscription.close();
+            return false;
+        }
+    }
+
+    private static class Subscription {
+        private final String sessionId;
+        private final SseEmitter emitter;
+        private volatile HashedTimingWheel.Timeout timeout;
+        private volatile boolean warned;
+
+        private Subscription(String sessionId, SseEmitter emitter) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+        }
+
+        private void close() {
+            HashedTimingWheel.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
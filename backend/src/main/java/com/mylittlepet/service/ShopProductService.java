@@ -10,6 +10,9 @@ public interface ShopProductService {
     // Get all shop products
     List<ShopProductDTO> getAllShopProducts();
 
+    // Content hash of the shop product views, changes whenever any product does
+    String getCatalogVersion();
+
     // Get shop product by ID
     Optional<ShopProductDTO> getShopProductById(Integer id);
 
@@ -0,0 +1,36 @@
+package com.mylittlepet.service.impl;
+
+import com.mylittlepet.service.PasswordResetMailer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local development only (profile "dev"): logs the reset token and keeps the
+ * latest one per email for DevPasswordResetController, so the flow can be
+ * tried and scripted without a mail server.
+ */
+@Component
+@Profile("dev")
+public class DevPasswordResetMailer implements PasswordResetMailer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DevPasswordResetMailer.class);
+
+    private final Map<String, String> latestTokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void sendResetToken(String email, String rawToken) {
+        latestTokens.put(email.toLowerCase(Locale.ROOT), rawToken);
+        logger.warn("[dev] Password reset token for {}: {}", email, rawToken);
+    }
+
+    // @return the last token sent to the email, or null
+    public String getLatestToken(String email) {
+        return email != null ? latestTokens.get(email.toLowerCase(Locale.ROOT)) : null;
+    }
+}
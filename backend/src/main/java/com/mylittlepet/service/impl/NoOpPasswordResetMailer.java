@@ -0,0 +1,35 @@
+package com.mylittlepet.service.impl;
+
+import com.mylittlepet.service.PasswordResetMailer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stands in until mail delivery is configured: reports itself unavailable, so
+ * reset requests are refused with 503 instead of issuing tokens nobody receives.
+ */
+@Component
+@Profile("!dev")
+public class NoOpPasswordResetMailer implements PasswordResetMailer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoOpPasswordResetMailer.class);
+
+    @PostConstruct
+    public void init() {
+        logger.error("No password reset mail sender configured: forgot-password requests will be refused "
+                + "(use the dev profile to try the flow locally)");
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return false;
+    }
+
+    @Override
+    public void sendResetToken(String email, String rawToken) {
+        logger.error("Password reset token for {} dropped: no mail sender configured", email);
+    }
+}
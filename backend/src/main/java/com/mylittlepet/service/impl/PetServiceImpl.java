@@ -1,60 +1,89 @@
 package com.mylittlepet.service.impl;
 
+import com.mylittlepet.dto.PetBulkResult;
 import com.mylittlepet.dto.PetDTO;
 import com.mylittlepet.entity.Pet;
+import com.mylittlepet.repository.PetBulkRepository;
 import com.mylittlepet.repository.PetRepository;
+import com.mylittlepet.service.PetCatalog;
 import com.mylittlepet.service.PetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class PetServiceImpl implements PetService {
 
     private final PetRepository petRepository;
+    private final PetCatalog petCatalog;
+    private final PetBulkRepository petBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Pet.PetType and Pet.PetDefaultName are NVARCHAR(50)
+    private static final int MAX_NAME_LENGTH = 50;
 
     @Autowired
-    public PetServiceImpl(PetRepository petRepository) {
+    public PetServiceImpl(PetRepository petRepository, PetCatalog petCatalog, PetBulkRepository petBulkRepository,
+            TransactionTemplate transactionTemplate) {
         this.petRepository = petRepository;
+        this.petCatalog = petCatalog;
+        this.petBulkRepository = petBulkRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    // Reads are served from the catalog snapshot; writes below swap in a new one
+
     @Override
     public List<PetDTO> getAllPets() {
-        return petRepository.findAllPets().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return petCatalog.getSnapshot().getAll();
     }
 
     @Override
     public Optional<PetDTO> getPetById(Integer petId) {
-        return petRepository.findPetById(petId)
-                .map(this::convertToDTO);
+        PetDTO cached = petCatalog.getSnapshot().getById(petId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Read through: a pet added outside this API shows up before the next scheduled reload
+        Optional<PetDTO> pet = petRepository.findPetById(petId).map(this::convertToDTO);
+        if (pet.isPresent()) {
+            petCatalog.reload();
+        }
+        return pet;
     }
 
     @Override
     public List<PetDTO> getPetsByType(String petType) {
-        return petRepository.findPetsByType(petType).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return petCatalog.getSnapshot().getByType(petType);
     }
 
     @Override
     public List<PetDTO> getPetsByStatus(Integer status) {
-        return petRepository.findPetsByStatus(status).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return petCatalog.getSnapshot().getByStatus(status);
     }
 
     @Override
     public List<PetDTO> searchPets(String keyword) {
-        return petRepository.searchPets(keyword).stream()
-                .map(this::convertToDTO)
+        // Case-insensitive substring match on name or type, like the LIKE query it replaces
+        String needle = keyword != null ? keyword.toLowerCase(Locale.ROOT) : "";
+        return petCatalog.getSnapshot().getAll().stream()
+                .filter(pet -> contains(pet.getPetDefaultName(), needle) || contains(pet.getPetType(), needle))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public String getCatalogVersion() {
+        return petCatalog.getSnapshot().getVersion();
+    }
+
     @Override
     public PetDTO createPet(PetDTO petDTO) {
         try {
@@ -66,6 +95,7 @@ public class PetServiceImpl implements PetService {
             pet.setAdminId(petDTO.getAdminId());
 
             Pet savedPet = petRepository.save(pet);
+            petCatalog.reload();
             return convertToDTO(savedPet);
 
         } catch (Exception e) {
@@ -94,6 +124,7 @@ public class PetServiceImpl implements PetService {
             int updatedRows = petRepository.updatePet(petId, petType, petDefaultName, description, petStatus);
 
             if (updatedRows > 0) {
+                petCatalog.reload();
                 return petRepository.findPetById(petId)
                         .map(this::convertToDTO)
                         .orElse(null);
@@ -110,12 +141,147 @@ public class PetServiceImpl implements PetService {
     public boolean deletePet(Integer petId) {
         try {
             int updatedRows = petRepository.deletePet(petId);
+            if (updatedRows > 0) {
+                petCatalog.reload();
+            }
             return updatedRows > 0;
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete pet: " + e.getMessage());
         }
     }
 
+    @Override
+    public PetBulkResult createPets(List<PetDTO> pets) {
+        PetBulkResult result = new PetBulkResult();
+        List<PetDTO> valid = new ArrayList<>();
+        List<PetBulkResult.Item> validItems = new ArrayList<>();
+        for (int i = 0; i < pets.size(); i++) {
+            PetDTO pet = pets.get(i);
+            String error = pet == null ? "Pet is required" : validateName("petType", pet.getPetType(), true);
+            if (error == null) {
+                error = validateName("petDefaultName", pet.getPetDefaultName(), true);
+            }
+            PetBulkResult.Item item = new PetBulkResult.Item(i, null, error != null ? "INVALID" : "CREATED", error);
+            result.getResults().add(item);
+            if (error == null) {
+                valid.add(pet);
+                validItems.add(item);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            List<Integer> ids = transactionTemplate.execute(status -> petBulkRepository.insertPets(valid));
+            for (int i = 0; i < validItems.size(); i++) {
+                validItems.get(i).setPetId(ids.get(i));
+            }
+        }
+        return finish(result, !valid.isEmpty());
+    }
+
+    @Override
+    public PetBulkResult updatePets(List<PetDTO> pets) {
+        PetBulkResult result = new PetBulkResult();
+        List<PetDTO> valid = new ArrayList<>();
+        List<PetBulkResult.Item> validItems = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < pets.size(); i++) {
+            PetDTO pet = pets.get(i);
+            String error;
+            if (pet == null || pet.getPetId() == null) {
+                error = "petId is required";
+            } else if (!seen.add(pet.getPetId())) {
+                error = "Duplicate petId in request";
+            } else {
+                error = validateName("petType", pet.getPetType(), false);
+                if (error == null) {
+                    error = validateName("petDefaultName", pet.getPetDefaultName(), false);
+                }
+            }
+            PetBulkResult.Item item = new PetBulkResult.Item(i, pet != null ? pet.getPetId() : null,
+                    error != null ? "INVALID" : "UPDATED", error);
+            result.getResults().add(item);
+            if (error == null) {
+                valid.add(pet);
+                validItems.add(item);
+            }
+        }
+
+        boolean changed = false;
+        if (!valid.isEmpty()) {
+            int[] counts = transactionTemplate.execute(status -> petBulkRepository.updatePets(valid));
+            for (int i = 0; i < validItems.size(); i++) {
+                if (counts[i] == 0) {
+                    validItems.get(i).setStatus("NOT_FOUND");
+                    validItems.get(i).setMessage("Pet not found");
+                } else {
+                    changed = true;
+                }
+            }
+        }
+        return finish(result, changed);
+    }
+
+    @Override
+    public PetBulkResult deletePets(List<Integer> petIds) {
+        PetBulkResult result = new PetBulkResult();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < petIds.size(); i++) {
+            Integer petId = petIds.get(i);
+            result.getResults().add(petId == null ? new PetBulkResult.Item(i, null, "INVALID", "petId is required")
+                    : new PetBulkResult.Item(i, petId, "DELETED", null));
+            if (petId != null) {
+                valid.add(petId);
+            }
+        }
+
+        Set<Integer> deleted = valid.isEmpty() ? new HashSet<>()
+                : transactionTemplate.execute(status -> petBulkRepository.softDeletePets(valid));
+        for (PetBulkResult.Item item : result.getResults()) {
+            if ("DELETED".equals(item.getStatus()) && !deleted.contains(item.getPetId())) {
+                item.setStatus("NOT_FOUND");
+                item.setMessage("Pet not found");
+            }
+        }
+        return finish(result, !deleted.isEmpty());
+    }
+
+    // Reload the catalog once for the whole request, attach the stored pets and count outcomes
+    private PetBulkResult finish(PetBulkResult result, boolean changed) {
+        if (changed) {
+            petCatalog.reload();
+        }
+        PetCatalog.Snapshot snapshot = petCatalog.getSnapshot();
+        for (PetBulkResult.Item item : result.getResults()) {
+            boolean ok = "CREATED".equals(item.getStatus()) || "UPDATED".equals(item.getStatus())
+                    || "DELETED".equals(item.getStatus());
+            if (ok) {
+                item.setPet(snapshot.getById(item.getPetId()));
+                result.setSucceeded(result.getSucceeded() + 1);
+            } else {
+                result.setFailed(result.getFailed() + 1);
+            }
+        }
+        return result;
+    }
+
+    // @return why the value is not acceptable, or null; a missing optional value is fine
+    private static String validateName(String field, String value, boolean required) {
+        if (value == null) {
+            return required ? field + " is required" : null;
+        }
+        if (value.isBlank()) {
+            return field + " must not be blank";
+        }
+        if (value.length() > MAX_NAME_LENGTH) {
+            return field + " must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
     // Convert Pet entity to PetDTO
     private PetDTO convertToDTO(Pet pet) {
         if (pet == null) {
@@ -1,91 +1,203 @@
 package com.mylittlepet.service.impl;
 
+import com.mylittlepet.dto.CursorPage;
 import com.mylittlepet.dto.PlayerDTO;
+import com.mylittlepet.dto.PlayerPageRequest;
 import com.mylittlepet.dto.PlayerPetDTO;
+import com.mylittlepet.dto.PlayerProfileDTO;
 import com.mylittlepet.entity.User;
+import com.mylittlepet.repository.PlayerPageRepository;
 import com.mylittlepet.repository.PlayerRepository;
+import com.mylittlepet.repository.PlayerSummaryRepository;
+import com.mylittlepet.repository.PlayerUpdateRepository;
 import com.mylittlepet.repository.PlayerPetRepository;
+import com.mylittlepet.repository.PlayerProfileRepository;
+import com.mylittlepet.service.AdminStatsService;
+import com.mylittlepet.service.AvailabilityIndex;
+import com.mylittlepet.service.LeaderboardService;
+import com.mylittlepet.service.PetCatalog;
+import com.mylittlepet.service.PlayerBanService;
 import com.mylittlepet.service.PlayerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class PlayerServiceImpl implements PlayerService {
     private final PlayerRepository playerRepository;
     private final PlayerPetRepository playerPetRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final PlayerPageRepository playerPageRepository;
+    private final PlayerSummaryRepository playerSummaryRepository;
+    private final PlayerUpdateRepository playerUpdateRepository;
+    private final PlayerBanService playerBanService;
+    private final LeaderboardService leaderboardService;
+    private final PlayerProfileRepository playerProfileRepository;
+    private final PetCatalog petCatalog;
+    private final AdminStatsService adminStatsService;
+
+    @Value("${players.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${players.page.max-size:200}")
+    private int maxPageSize;
 
     @Autowired
-    public PlayerServiceImpl(PlayerRepository playerRepository, PlayerPetRepository playerPetRepository) {
+    public PlayerServiceImpl(PlayerRepository playerRepository, PlayerPetRepository playerPetRepository,
+            AvailabilityIndex availabilityIndex, PlayerPageRepository playerPageRepository,
+            PlayerSummaryRepository playerSummaryRepository, PlayerUpdateRepository playerUpdateRepository,
+            PlayerBanService playerBanService, LeaderboardService leaderboardService,
+            PlayerProfileRepository playerProfileRepository,
+            PetCatalog petCatalog, AdminStatsService adminStatsService) {
         this.playerRepository = playerRepository;
         this.playerPetRepository = playerPetRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.playerPageRepository = playerPageRepository;
+        this.playerSummaryRepository = playerSummaryRepository;
+        this.playerUpdateRepository = playerUpdateRepository;
+        this.playerBanService = playerBanService;
+        this.leaderboardService = leaderboardService;
+        this.playerProfileRepository = playerProfileRepository;
+        this.petCatalog = petCatalog;
+        this.adminStatsService = adminStatsService;
     }
 
     @Override
-    public List<PlayerDTO> getAllPlayers() {
-        // Use PlayerRepository's method to get players with pet count
-        List<Object[]> results = playerRepository.findAllPlayersWithPetCount();
-        return results.stream()
-                .map(result -> {
-                    User user = (User) result[0];
-                    Integer totalPets = (Integer) result[1];
-                    return PlayerDTO.fromUser(user, totalPets);
-                })
-                .collect(Collectors.toList());
+    public CursorPage<PlayerDTO> getPlayersPage(PlayerPageRequest request) {
+        int size = request.getSize() > 0 ? Math.min(request.getSize(), maxPageSize) : defaultPageSize;
+
+        boolean afterPosition = false;
+        LocalDateTime afterJoinDate = null;
+        Integer afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            // Cursor = base64url("<joinDate or ->|<id>") of the last row of the previous page
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(request.getCursor()),
+                        StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                String joinDate = decoded.substring(0, separator);
+                afterJoinDate = "-".equals(joinDate) ? null : LocalDateTime.parse(joinDate);
+                afterId = Integer.valueOf(decoded.substring(separator + 1));
+                afterPosition = true;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page follows
+        List<PlayerDTO> rows = playerPageRepository.findPage(request, afterPosition, afterJoinDate, afterId,
+                size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            PlayerDTO last = rows.get(size - 1);
+            String position = (last.getJoinDate() != null ? last.getJoinDate().toString() : "-") + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CursorPage<>(rows, nextCursor, rows.size());
     }
 
     @Override
     public Optional<PlayerDTO> getPlayerById(Integer id) {
-        // Use PlayerRepository's dedicated method
-        Optional<User> userOpt = playerRepository.findPlayerById(id);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            Integer totalPets = playerRepository.getTotalPetsByPlayerId(id);
-            return Optional.of(PlayerDTO.fromUser(user, totalPets));
-        }
-        return Optional.empty();
+        // Single primary-key lookup joined with the player summary
+        return playerSummaryRepository.findPlayerById(id);
     }
 
     @Override
     public Optional<PlayerDTO> getPlayerByEmail(String email) {
-        // Use PlayerRepository's dedicated method
-        Optional<User> userOpt = playerRepository.findPlayerByEmail(email);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            Integer totalPets = playerRepository.getTotalPetsByPlayerId(user.getId());
-            return Optional.of(PlayerDTO.fromUser(user, totalPets));
-        }
-        return Optional.empty();
+        return playerSummaryRepository.findPlayerByEmail(email);
     }
 
     @Override
     public Optional<PlayerDTO> getPlayerByUserName(String userName) {
-        // Use PlayerRepository's dedicated method
-        Optional<User> userOpt = playerRepository.findPlayerByUserName(userName);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            Integer totalPets = playerRepository.getTotalPetsByPlayerId(user.getId());
-            return Optional.of(PlayerDTO.fromUser(user, totalPets));
-        }
-        return Optional.empty();
+        return playerSummaryRepository.findPlayerByUserName(userName);
     }
 
+    @Override
+    public List<PlayerDTO> getPlayersBatch(String by, List<String> keys) {
+        // Distinct lookup values; emails and usernames match case-insensitively like the database
+        boolean byId = "id".equalsIgnoreCase(by);
+        Map<Object, PlayerDTO> found = new HashMap<>();
+        Set<Object> distinct = new LinkedHashSet<>();
+        for (String key : keys) {
+            Object lookup = batchKey(byId, key);
+            if (lookup != null) {
+                distinct.add(lookup);
+            }
+        }
 
+        List<PlayerDTO> rows;
+        if (byId) {
+            rows = playerSummaryRepository.findPlayersByIds(
+                    distinct.stream().map(Integer.class::cast).collect(Collectors.toList()));
+        } else if ("email".equalsIgnoreCase(by)) {
+            rows = playerSummaryRepository.findPlayersByEmails(
+                    distinct.stream().map(String.class::cast).collect(Collectors.toList()));
+        } else if ("userName".equalsIgnoreCase(by)) {
+            rows = playerSummaryRepository.findPlayersByUserNames(
+                    distinct.stream().map(String.class::cast).collect(Collectors.toList()));
+        } else {
+            throw new IllegalArgumentException("Unknown key kind: " + by);
+        }
+        for (PlayerDTO player : rows) {
+            if (byId) {
+                found.put(player.getId(), player);
+            } else {
+                String value = "email".equalsIgnoreCase(by) ? player.getEmail() : player.getUserName();
+                found.put(value != null ? value.toLowerCase(Locale.ROOT) : null, player);
+            }
+        }
+
+        // Back to request order; repeated keys share the same player
+        List<PlayerDTO> players = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Object lookup = batchKey(byId, key);
+            players.add(lookup != null ? found.get(lookup) : null);
+        }
+        return players;
+    }
+
+    private static Object batchKey(boolean byId, String key) {
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        if (!byId) {
+            return key.trim().toLowerCase(Locale.ROOT);
+        }
+        try {
+            return Integer.valueOf(key.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid player id: " + key);
+        }
+    }
 
     @Override
     public PlayerDTO createPlayer(PlayerDTO playerDTO) {
         try {
-            // Check if email already exists (using PlayerRepository find method)
-            if (playerRepository.findPlayerByEmail(playerDTO.getEmail()).isPresent()) {
+            // Check if email already exists (skipped when the availability index rules it out)
+            if (availabilityIndex.emailMightExist(playerDTO.getEmail())
+                    && playerRepository.findPlayerByEmail(playerDTO.getEmail()).isPresent()) {
                 throw new RuntimeException("Email already exists");
             }
 
-            // Check if username already exists (using PlayerRepository find method)
-            if (playerRepository.findPlayerByUserName(playerDTO.getUserName()).isPresent()) {
+            // Check if username already exists
+            if (availabilityIndex.userNameMightExist(playerDTO.getUserName())
+                    && playerRepository.findPlayerByUserName(playerDTO.getUserName()).isPresent()) {
                 throw new RuntimeException("Username already exists");
             }
 
@@ -101,8 +213,12 @@ public class PlayerServiceImpl implements PlayerService {
             user.setGem(playerDTO.getGem() != null ? playerDTO.getGem() : 0);
             user.setJoinDate(LocalDateTime.now()); // Save user
             User savedUser = playerRepository.save(user);
-            Integer totalPets = playerRepository.getTotalPetsByPlayerId(savedUser.getId());
-            return PlayerDTO.fromUser(savedUser, totalPets);
+            availabilityIndex.record(savedUser);
+            PlayerDTO created = PlayerDTO.fromUser(savedUser, 0); // a new player has no pets yet
+            leaderboardService.record(created);
+            adminStatsService.playerCreated(savedUser.getCoin(), savedUser.getDiamond(), savedUser.getGem(),
+                    savedUser.getJoinDate());
+            return created;
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to create player: " + e.getMessage());
@@ -112,36 +228,27 @@ public class PlayerServiceImpl implements PlayerService {
     @Override
     public PlayerDTO updatePlayer(Integer id, PlayerDTO playerDTO) {
         try {
-            // Get current player first
-            Optional<User> existingUserOpt = playerRepository.findPlayerById(id);
-            if (existingUserOpt.isEmpty()) {
-                throw new RuntimeException("Player not found");
+            // One statement: merge the non-null fields, check the version if the client sent one,
+            // and read back the updated row
+            Optional<PlayerUpdateRepository.Update> updated = playerUpdateRepository.updatePlayer(id, playerDTO,
+                    playerDTO.getVersion());
+            if (updated.isPresent()) {
+                PlayerDTO player = updated.get().getPlayer();
+                availabilityIndex.record(player.getUserName(), player.getEmail());
+                leaderboardService.record(player);
+                adminStatsService.currencyChanged(updated.get().getCoinDelta(), updated.get().getDiamondDelta(),
+                        updated.get().getGemDelta());
+                return player;
             }
 
-            User existingUser = existingUserOpt.get();
-
-            // Prepare update values (keep existing if new is null)
-            String userName = playerDTO.getUserName() != null ? playerDTO.getUserName() : existingUser.getUserName();
-            String email = playerDTO.getEmail() != null ? playerDTO.getEmail() : existingUser.getEmail();
-            Integer level = playerDTO.getLevel() != null ? playerDTO.getLevel() : existingUser.getLevel();
-            Integer coin = playerDTO.getCoin() != null ? playerDTO.getCoin() : existingUser.getCoin();
-            Integer diamond = playerDTO.getDiamond() != null ? playerDTO.getDiamond() : existingUser.getDiamond();
-            Integer gem = playerDTO.getGem() != null ? playerDTO.getGem() : existingUser.getGem();
-
-            // Use PlayerRepository's update method
-            int updatedRows = playerRepository.updatePlayer(id, userName, email, level, coin, diamond, gem);
-            if (updatedRows > 0) {
-                // Return updated player with pet count
-                Optional<User> updatedUser = playerRepository.findPlayerById(id);
-                if (updatedUser.isPresent()) {
-                    Integer totalPets = playerRepository.getTotalPetsByPlayerId(id);
-                    return PlayerDTO.fromUser(updatedUser.get(), totalPets);
-                }
-                return null;
-            } else {
-                throw new RuntimeException("Update failed");
+            if (playerDTO.getVersion() != null && playerSummaryRepository.findPlayerById(id).isPresent()) {
+                throw new OptimisticLockingFailureException(
+                        "Player " + id + " was modified by someone else; reload and try again");
             }
+            return null;
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to update player: " + e.getMessage());
         }
@@ -150,25 +257,8 @@ public class PlayerServiceImpl implements PlayerService {
     @Override
     public boolean deletePlayer(Integer id) {
         try {
-            // Get current player first
-            Optional<User> userOpt = playerRepository.findPlayerById(id);
-            if (userOpt.isEmpty()) {
-                return false;
-            }
-
-            User user = userOpt.get();
-
-            // Use PlayerRepository's update method to set status to BANNED
-            int updatedRows = playerRepository.updatePlayer(
-                    id,
-                    user.getUserName(),
-                    user.getEmail(),                   
-                    user.getLevel(),
-                    user.getCoin(),
-                    user.getDiamond(),
-                    user.getGem());
-
-            return updatedRows > 0;
+            // Soft delete: a permanent ban, the row and its pets are kept
+            return playerBanService.ban(id, null);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete player: " + e.getMessage());
         }
@@ -192,4 +282,18 @@ public class PlayerServiceImpl implements PlayerService {
             throw new RuntimeException("Failed to get player pets: " + e.getMessage());
         }
     }
+
+    @Override
+    public Optional<PlayerProfileDTO> getPlayerProfile(Integer playerId, int petOffset, int petLimit) {
+        // One extra pet tells whether another page follows
+        return playerProfileRepository.findProfile(playerId, petOffset, petLimit + 1).map(profile -> {
+            List<PlayerPetDTO> pets = profile.getPets();
+            if (pets.size() > petLimit) {
+                profile.setPets(new ArrayList<>(pets.subList(0, petLimit)));
+                profile.setHasMorePets(true);
+            }
+            profile.getPets().forEach(pet -> pet.setPetDefaultName(petCatalog.getPetDefaultName(pet.getPetId())));
+            return profile;
+        });
+    }
 }
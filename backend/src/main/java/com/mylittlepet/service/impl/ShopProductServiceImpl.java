@@ -5,10 +5,17 @@ import com.mylittlepet.entity.ShopProduct;
 import com.mylittlepet.entity.User;
 import com.mylittlepet.repository.ShopProductRepository;
 import com.mylittlepet.repository.UserRepository;
+import com.mylittlepet.service.AdminStatsService;
 import com.mylittlepet.service.ShopProductService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,6 +29,43 @@ public class ShopProductServiceImpl implements ShopProductService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    // Hash of every product, so every instance derives the same version from the same rows
+    private volatile String catalogVersion = "";
+
+    @PostConstruct
+    public void init() {
+        refreshCatalogVersion();
+    }
+
+    @Override
+    public String getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    // Rehash after every write through this service, and every max-age for products changed elsewhere
+    @Scheduled(fixedDelayString = "${shop-products.snapshot.max-age:60000}",
+            initialDelayString = "${shop-products.snapshot.max-age:60000}")
+    public synchronized void refreshCatalogVersion() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (ShopProduct product : shopProductRepository.findAllWithAdminOrderById()) {
+                ShopProductDTO dto = convertToDTO(product);
+                String row = dto.getShopProductId() + "\u0000" + dto.getShopId() + "\u0000" + dto.getPetID()
+                        + "\u0000" + dto.getAdminId() + "\u0000" + dto.getAdminName() + "\u0000" + dto.getName()
+                        + "\u0000" + dto.getType() + "\u0000" + dto.getDescription() + "\u0000"
+                        + dto.getImageUrl() + "\u0000" + dto.getPrice() + "\u0000" + dto.getCurrencyType()
+                        + "\u0000" + dto.getQuantity() + "\u0000" + dto.getStatus() + "\u0001";
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+            }
+            catalogVersion = HexFormat.of().formatHex(digest.digest(), 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     @Override
     public List<ShopProductDTO> getAllShopProducts() {
         return shopProductRepository.findAllOrderByName()
@@ -112,6 +156,8 @@ public class ShopProductServiceImpl implements ShopProductService {
     public ShopProductDTO createShopProduct(ShopProductDTO shopProductDTO) {
         ShopProduct shopProduct = convertToEntity(shopProductDTO);
         ShopProduct savedShopProduct = shopProductRepository.save(shopProduct);
+        refreshCatalogVersion();
+        adminStatsService.productAdded(savedShopProduct.getStatus(), savedShopProduct.getCurrencyType());
         return convertToDTO(savedShopProduct);
     }
 
@@ -120,6 +166,8 @@ public class ShopProductServiceImpl implements ShopProductService {
         Optional<ShopProduct> existingShopProduct = shopProductRepository.findById(id);
         if (existingShopProduct.isPresent()) {
             ShopProduct shopProduct = existingShopProduct.get();
+            Integer oldStatus = shopProduct.getStatus();
+            String oldCurrencyType = shopProduct.getCurrencyType();
 
             // Update shop id if provided
             if (shopProductDTO.getShopId() != null) {
@@ -142,6 +190,9 @@ public class ShopProductServiceImpl implements ShopProductService {
             shopProduct.setStatus(shopProductDTO.getStatus());
 
             ShopProduct updatedShopProduct = shopProductRepository.save(shopProduct);
+            refreshCatalogVersion();
+            adminStatsService.productChanged(oldStatus, oldCurrencyType, updatedShopProduct.getStatus(),
+                    updatedShopProduct.getCurrencyType());
             return convertToDTO(updatedShopProduct);
         }
         return null;
@@ -149,8 +200,12 @@ public class ShopProductServiceImpl implements ShopProductService {
 
     @Override
     public boolean deleteShopProduct(Integer id) {
-        if (shopProductRepository.existsById(id)) {
+        Optional<ShopProduct> existingShopProduct = shopProductRepository.findById(id);
+        if (existingShopProduct.isPresent()) {
             shopProductRepository.deleteById(id);
+            refreshCatalogVersion();
+            adminStatsService.productRemoved(existingShopProduct.get().getStatus(),
+                    existingShopProduct.get().getCurrencyType());
             return true;
         }
         return false;
@@ -161,8 +216,12 @@ public class ShopProductServiceImpl implements ShopProductService {
         Optional<ShopProduct> existingShopProduct = shopProductRepository.findById(id);
         if (existingShopProduct.isPresent()) {
             ShopProduct shopProduct = existingShopProduct.get();
+            Integer oldStatus = shopProduct.getStatus();
             shopProduct.setStatus(status);
             ShopProduct updatedShopProduct = shopProductRepository.save(shopProduct);
+            refreshCatalogVersion();
+            adminStatsService.productChanged(oldStatus, shopProduct.getCurrencyType(), updatedShopProduct.getStatus(),
+                    updatedShopProduct.getCurrencyType());
             return convertToDTO(updatedShopProduct);
         }
         return null;
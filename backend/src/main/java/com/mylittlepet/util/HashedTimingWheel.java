@@ -0,0 +1,148 @@
+package com.mylittlepet.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel: schedules very large numbers of deadline tasks on a
+ * single thread with O(1) insertion and cancellation.
+ *
+ * Tasks are hashed into a bucket by deadline; every tick the worker only looks
+ * at the buckets for the ticks that have elapsed. Tasks whose deadline is one
+ * or more full rotations away simply stay in their bucket until due.
+ * Precision is one tick.
+ *
+ * New tasks go through a queue that the worker moves into the buckets at the
+ * start of each tick, so only the worker touches the buckets and a task can
+ * never land in a bucket the worker has just drained.
+ */
+public class HashedTimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final long tickMs;
+    private final int wheelSize;
+    // Only touched by the worker
+    private final List<Queue<Timeout>> buckets;
+    // Tasks scheduled since the last tick
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService worker;
+
+    // Last tick (deadline / tickMs) whose bucket has been processed; only touched by the worker
+    private long lastTick;
+
+    public HashedTimingWheel(String name, long tickMs, int wheelSize) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    public void start() {
+        lastTick = System.currentTimeMillis() / tickMs;
+        worker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Run a task at (or up to one tick after) the given time
+     *
+     * @param task     task to run on the wheel's thread; must be short and non-blocking
+     * @param deadline epoch milliseconds; past deadlines run on the next tick
+     */
+    public Timeout schedule(Runnable task, long deadline) {
+        Timeout timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Process every bucket whose tick has elapsed since the last run
+    private void advance() {
+        long currentTick = System.currentTimeMillis() / tickMs;
+        long from = Math.max(lastTick + 1, currentTick - wheelSize + 1);
+        transferPending(from);
+        for (long tick = from; tick <= currentTick; tick++) {
+            expire(buckets.get((int) (tick % wheelSize)), currentTick);
+        }
+        lastTick = currentTick;
+    }
+
+    // Hash newly scheduled tasks into their buckets; past deadlines go to the first bucket processed this run
+    private void transferPending(long firstTick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long tick = Math.max(timeout.deadline / tickMs, firstTick);
+            buckets.get((int) (tick % wheelSize)).add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket, long currentTick) {
+        int pending = bucket.size();
+        for (int i = 0; i < pending; i++) {
+            Timeout timeout = bucket.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.deadline / tickMs > currentTick) {
+                bucket.add(timeout); // due in a later rotation
+                continue;
+            }
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                logger.warn("Timing wheel task failed: {}", e.getMessage());
+            }
+        }
+    }
+}
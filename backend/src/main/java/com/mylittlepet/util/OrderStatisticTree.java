@@ -0,0 +1,189 @@
+package com.mylittlepet.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Ranking index: (score, id) keys ordered by score descending, then id
+ * ascending, in a treap whose nodes carry subtree sizes. Insert, remove,
+ * rank-of-key and key-at-rank are all O(log n) expected.
+ *
+ * Not thread-safe; callers guard it with a lock.
+ */
+public class OrderStatisticTree {
+
+    private static final class Node {
+        private final long score;
+        private final int id;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long score, int id, int priority) {
+            this.score = score;
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    // Keys must be unique; insert an id only once per score
+    public void insert(long score, int id) {
+        root = insert(root, new Node(score, id, random.nextInt()));
+    }
+
+    // @return false if the key was not present
+    public boolean remove(long score, int id) {
+        int before = size(root);
+        root = remove(root, score, id);
+        return size(root) < before;
+    }
+
+    /**
+     * Zero-based rank of a key (0 = highest score)
+     *
+     * @return rank, or -1 if the key is not present
+     */
+    public int rank(long score, int id) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(score, id, node);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Id at a zero-based rank
+     *
+     * @return id, or -1 if rank is out of range
+     */
+    public int idAt(int rank) {
+        Node node = nodeAt(rank);
+        return node != null ? node.id : -1;
+    }
+
+    // Score at a zero-based rank (rank must be in range)
+    public long scoreAt(int rank) {
+        return nodeAt(rank).score;
+    }
+
+    private Node nodeAt(int rank) {
+        if (rank < 0 || rank >= size(root)) {
+            return null;
+        }
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.score, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, long score, int id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(score, id, node);
+        if (c < 0) {
+            node.left = remove(node.left, score, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, score, id);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    // All keys of a precede all keys of b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static int compare(long score, int id, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return Integer.compare(id, node.id);
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mylittlepet.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once: the UTF-8 JSON bytes plus their gzip
+ * encoding, tagged with the version of the data they were built from.
+ *
+ * Serving it only copies bytes to the response; the request's
+ * Accept-Encoding picks the form. Each form has its own ETag ("version" and
+ * "version-gzip"), and either one in If-None-Match gets a 304.
+ */
+public final class SerializedResponse {
+
+    private static final String GZIP = "gzip";
+
+    private final String version;
+    private final byte[] json;
+    // null when compressing does not make the body smaller
+    private final byte[] gzip;
+
+    private SerializedResponse(String version, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public static SerializedResponse of(ObjectMapper objectMapper, String version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzip(json);
+            return new SerializedResponse(version, json, gzip.length < json.length ? gzip : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding, String ifNoneMatch) {
+        boolean gzipped = gzip != null && accepts(acceptEncoding, GZIP);
+        String etag = etag(gzipped);
+        if (matches(ifNoneMatch, etag(false)) || (gzip != null && matches(ifNoneMatch, etag(true)))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(gzipped ? gzip : json);
+    }
+
+    // If-None-Match holds "*" or a comma-separated list of (possibly weak) tags
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // True if the coding (or "*") is listed without q=0
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals(coding) && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String etag(boolean gzipped) {
+        return "\"" + version + (gzipped ? "-gzip" : "") + "\"";
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
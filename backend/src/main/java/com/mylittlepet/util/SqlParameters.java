@@ -0,0 +1,43 @@
+package com.mylittlepet.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for statements that bind one or more parameters per value (IN
+ * lists, multi-row VALUES). SQL Server allows 2100 parameters per statement,
+ * so callers run one statement per slice.
+ */
+public final class SqlParameters {
+
+    // Parameters per slice: under SQL Server's 2100, leaving room for a statement's other parameters
+    public static final int MAX_PER_STATEMENT = 2000;
+
+    private SqlParameters() {
+    }
+
+    // Consecutive views of the list with at most MAX_PER_STATEMENT parameters each
+    public static <T> List<List<T>> slices(List<T> values, int parametersPerValue) {
+        int size = Math.max(MAX_PER_STATEMENT / parametersPerValue, 1);
+        List<List<T>> slices = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += size) {
+            slices.add(values.subList(i, Math.min(i + size, values.size())));
+        }
+        return slices;
+    }
+
+    public static <T> List<List<T>> slices(List<T> values) {
+        return slices(values, 1);
+    }
+
+    // "?,?,?" for an IN list of count values
+    public static String placeholders(int count) {
+        return placeholders(count, "?");
+    }
+
+    // count copies of group separated by commas, e.g. "(?, ?),(?, ?)" for VALUES rows
+    public static String placeholders(int count, String group) {
+        return String.join(",", Collections.nCopies(count, group));
+    }
+}
@@ -0,0 +1,161 @@
+-- Schema additions on top of the base My_Little_Pet database (spring.jpa.hibernate.ddl-auto=none).
+--
+-- Run by spring.sql.init on every start, before the JdbcTemplate and the JPA
+-- EntityManagerFactory are created, so no bean can read a column or table
+-- that does not exist yet. Every statement is guarded and safe to re-run;
+-- statements are separated by ";" and run in file order. A failing statement
+-- stops startup (spring.sql.init.continue-on-error is left false).
+
+-- Revoked token ids (JdbcRevocationStore); times are epoch ms
+IF OBJECT_ID('revoked_tokens', 'U') IS NULL
+    CREATE TABLE revoked_tokens (
+        jti VARCHAR(64) NOT NULL PRIMARY KEY,
+        expires_at BIGINT NOT NULL,
+        revoked_at BIGINT NOT NULL);
+
+-- Admin sessions written behind from the SessionRegistry (JdbcSessionStore); times are epoch ms
+IF OBJECT_ID('admin_sessions', 'U') IS NULL
+    CREATE TABLE admin_sessions (
+        session_id VARCHAR(64) NOT NULL PRIMARY KEY,
+        email NVARCHAR(100) NOT NULL,
+        user_id INT NULL,
+        role NVARCHAR(50) NULL,
+        credential_version VARCHAR(32) NULL,
+        refresh_hash CHAR(64) NOT NULL,
+        previous_refresh_hash CHAR(64) NULL,
+        created_at BIGINT NOT NULL,
+        expires_at BIGINT NOT NULL);
+
+-- Keyset player listing (PlayerPageRepository) seeks on (Role, JoinDate, ID)
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_User_Role_JoinDate_ID')
+    CREATE INDEX IX_User_Role_JoinDate_ID ON [User] (Role, JoinDate, ID)
+        INCLUDE (UserName, Email, Level, Coin, Diamond, Gem);
+
+-- Live pet count fallback for players the summary reconciler has not reached yet
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_PlayerPet_PlayerID')
+    CREATE INDEX IX_PlayerPet_PlayerID ON PlayerPet (PlayerID);
+
+-- Player summary read model (PlayerSummaryRepository): one row of per-player aggregates
+IF OBJECT_ID('player_summary', 'U') IS NULL
+    CREATE TABLE player_summary (
+        PlayerID INT NOT NULL PRIMARY KEY,
+        TotalPets INT NOT NULL,
+        UpdatedAt BIGINT NOT NULL);
+
+-- Net pet count change per player for every insert, delete or re-parenting of PlayerPet rows.
+-- CREATE TRIGGER must start its own batch and its body contains ";", hence EXEC.
+-- Unlike the indexes this is not optional: without the trigger every summary row would
+-- silently go stale between reconciliations, so a failure here stops startup.
+-- Statements that touch no rows, and updates that leave PlayerID alone (the common game write),
+-- return before the MERGE. Otherwise the MERGE runs in the writer's transaction under HOLDLOCK
+-- (serializable), so the game's PlayerPet write holds a key-range lock on player_summary until it commits.
+EXEC('CREATE OR ALTER TRIGGER TR_PlayerPet_PlayerSummary ON PlayerPet
+AFTER INSERT, UPDATE, DELETE AS BEGIN
+    SET NOCOUNT ON;
+    IF NOT EXISTS (SELECT 1 FROM inserted) AND NOT EXISTS (SELECT 1 FROM deleted) RETURN;
+    IF EXISTS (SELECT 1 FROM inserted) AND EXISTS (SELECT 1 FROM deleted) AND NOT UPDATE(PlayerID) RETURN;
+    WITH delta AS (
+        SELECT PlayerID, SUM(n) AS n FROM (
+            SELECT PlayerID, 1 AS n FROM inserted UNION ALL SELECT PlayerID, -1 AS n FROM deleted) d
+        GROUP BY PlayerID HAVING SUM(n) <> 0)
+    MERGE player_summary WITH (HOLDLOCK) AS s USING delta AS d ON s.PlayerID = d.PlayerID
+    WHEN MATCHED THEN UPDATE SET TotalPets = s.TotalPets + d.n,
+        UpdatedAt = DATEDIFF_BIG(MILLISECOND, ''1970-01-01'', SYSUTCDATETIME())
+    WHEN NOT MATCHED THEN INSERT (PlayerID, TotalPets, UpdatedAt) VALUES (d.PlayerID,
+        (SELECT COUNT(*) FROM PlayerPet pp WHERE pp.PlayerID = d.PlayerID),
+        DATEDIFF_BIG(MILLISECOND, ''1970-01-01'', SYSUTCDATETIME()));
+END');
+
+-- Currency credits journaled per node by earlier versions; rows left behind are applied at startup (CurrencyService)
+IF OBJECT_ID('currency_journal', 'U') IS NULL
+    CREATE TABLE currency_journal (
+        JournalID BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+        NodeID NVARCHAR(100) NOT NULL,
+        PlayerID INT NOT NULL,
+        CoinDelta INT NOT NULL,
+        DiamondDelta INT NOT NULL,
+        GemDelta INT NOT NULL,
+        CreatedAt BIGINT NOT NULL);
+
+-- [User]: optimistic lock version, bumped by every write to the row (PlayerUpdateRepository, CurrencyService);
+-- existing rows start at 0
+IF COL_LENGTH('[User]', 'Version') IS NULL
+    ALTER TABLE [User] ADD Version BIGINT NOT NULL CONSTRAINT DF_User_Version DEFAULT 0;
+
+-- [User]: ban state (PlayerBanRepository); BanEndsAt is epoch ms, NULL while banned = permanent
+IF COL_LENGTH('[User]', 'Status') IS NULL
+    ALTER TABLE [User] ADD Status NVARCHAR(20) NOT NULL CONSTRAINT DF_User_Status DEFAULT 'ACTIVE';
+
+IF COL_LENGTH('[User]', 'BanEndsAt') IS NULL
+    ALTER TABLE [User] ADD BanEndsAt BIGINT NULL;
+
+-- Filtered index: loading the bans at startup reads only banned rows
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_User_Banned')
+    CREATE INDEX IX_User_Banned ON [User] (ID) INCLUDE (BanEndsAt) WHERE Status = 'BANNED';
+
+-- Newest-first pet page of the player profile (PlayerProfileRepository)
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_PlayerPet_PlayerID_AdoptedAt')
+    CREATE INDEX IX_PlayerPet_PlayerID_AdoptedAt ON PlayerPet (PlayerID, AdoptedAt DESC, PlayerPetID DESC)
+        INCLUDE (PetID, PetCustomName);
+
+-- [User]: password-change counter behind the credential version of issued tokens (CredentialVersionCache);
+-- rehashing the same password at a new cost leaves it unchanged
+IF COL_LENGTH('[User]', 'PasswordVersion') IS NULL
+    ALTER TABLE [User] ADD PasswordVersion INT NOT NULL CONSTRAINT DF_User_PasswordVersion DEFAULT 0;
+
+-- Cluster-wide settings every node must agree on, e.g. the calibrated bcrypt cost (AppSettingRepository)
+IF OBJECT_ID('app_settings', 'U') IS NULL
+    CREATE TABLE app_settings (
+        SettingKey NVARCHAR(100) NOT NULL PRIMARY KEY,
+        SettingValue NVARCHAR(400) NOT NULL,
+        UpdatedAt BIGINT NOT NULL);
+
+-- Password reset tokens (PasswordResetTokenService): only the SHA-256 hex digest of a token is stored,
+-- in a fixed-width column under a unique index
+IF OBJECT_ID('password_reset_tokens', 'U') IS NULL
+    CREATE TABLE password_reset_tokens (
+        id BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+        token CHAR(64) NOT NULL,
+        email NVARCHAR(255) NOT NULL,
+        expiryDate DATETIME2 NOT NULL,
+        used BIT NOT NULL,
+        createdAt DATETIME2 NOT NULL);
+
+-- Tokens issued before digests were stored can no longer be looked up
+DELETE FROM password_reset_tokens WHERE LEN(token) <> 64;
+
+-- Narrow an existing wider token column to CHAR(64); constraints and indexes on it have to go first
+IF EXISTS (SELECT 1 FROM sys.columns c JOIN sys.types t ON t.user_type_id = c.user_type_id
+           WHERE c.object_id = OBJECT_ID('password_reset_tokens') AND c.name = 'token'
+             AND NOT (t.name = 'char' AND c.max_length = 64))
+EXEC('DECLARE @drop NVARCHAR(MAX) = N'''';
+    SELECT @drop = @drop + N''ALTER TABLE password_reset_tokens DROP CONSTRAINT '' + QUOTENAME(kc.name) + N''; ''
+    FROM sys.key_constraints kc
+    JOIN sys.index_columns ic ON ic.object_id = kc.parent_object_id AND ic.index_id = kc.unique_index_id
+    JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+    WHERE kc.parent_object_id = OBJECT_ID(''password_reset_tokens'') AND kc.type = ''UQ'' AND c.name = ''token'';
+    SELECT @drop = @drop + N''DROP INDEX '' + QUOTENAME(i.name) + N'' ON password_reset_tokens; ''
+    FROM sys.indexes i
+    JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+    JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+    WHERE i.object_id = OBJECT_ID(''password_reset_tokens'') AND i.is_primary_key = 0
+      AND i.is_unique_constraint = 0 AND c.name = ''token'';
+    EXEC(@drop);
+    ALTER TABLE password_reset_tokens ALTER COLUMN token CHAR(64) NOT NULL;');
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'UX_password_reset_tokens_token')
+    CREATE UNIQUE INDEX UX_password_reset_tokens_token ON password_reset_tokens (token);
+
+-- Issuing a token deletes the email's previous one
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_password_reset_tokens_email')
+    CREATE INDEX IX_password_reset_tokens_email ON password_reset_tokens (email);
+
+-- Chunked purge of expired tokens
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_password_reset_tokens_expiryDate')
+    CREATE INDEX IX_password_reset_tokens_expiryDate ON password_reset_tokens (expiryDate);
+
+-- Usernames are unique, so a stale availability filter (AvailabilityIndex) can never admit a duplicate.
+-- Skipped while existing rows share a username: AvailabilityIndex then always checks usernames in the database.
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'UX_User_UserName')
+   AND NOT EXISTS (SELECT UserName FROM [User] WHERE UserName IS NOT NULL GROUP BY UserName HAVING COUNT(*) > 1)
+    CREATE UNIQUE INDEX UX_User_UserName ON [User] (UserName) WHERE UserName IS NOT NULL;
@@ -0,0 +1,94 @@
+package com.mylittlepet.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user-" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user-" + i + "@example.com"), "false negative for user-" + i);
+        }
+    }
+
+    @Test
+    void noFalseNegativesWhenOverfilled() {
+        // Ten times the expected insertions: the false positive rate degrades, but never the negatives
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(Integer.toHexString(i * 7919));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain(Integer.toHexString(i * 7919)));
+        }
+    }
+
+    @Test
+    void handlesEmptyAndNonAsciiValues() {
+        BloomFilter filter = new BloomFilter(10, 0.01);
+        filter.add("");
+        filter.add("Nguyễn Văn Ánh");
+        filter.add("宠物");
+
+        assertTrue(filter.mightContain(""));
+        assertTrue(filter.mightContain("Nguyễn Văn Ánh"));
+        assertTrue(filter.mightContain("宠物"));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("present-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% target; allow generous slack so the test is not flaky
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void concurrentAddsLoseNoBits() throws Exception {
+        BloomFilter filter = new BloomFilter(40_000, 0.01);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        filter.add(thread + ":" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(filter.mightContain(t + ":" + i), "false negative for " + t + ":" + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mylittlepet.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\n,x,\n"));
+
+        assertEquals(List.of("a", "b", "c"), reader.readRecord());
+        assertEquals(List.of("", "x", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"\"\n"));
+
+        assertEquals(List.of("a,b", "say \"hi\"", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("5\"2,x\n"));
+
+        assertEquals(List.of("5\"2", "x"), reader.readRecord());
+    }
+
+    @Test
+    void crlfAndBareCrEndRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\r\nc,d\re,f"));
+
+        assertEquals(List.of("a", "b"), reader.readRecord());
+        assertEquals(List.of("c", "d"), reader.readRecord());
+        assertEquals(List.of("e", "f"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void lastRecordWithoutNewlineIsRead() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,\"b\""));
+
+        assertEquals(List.of("a", "b"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void quotedFieldMaySpanLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("1,\"line one\nline two\r\nline three\",x\n2,y\n"));
+
+        assertEquals(List.of("1", "line one\nline two\r\nline three", "x"), reader.readRecord());
+        assertEquals(List.of("2", "y"), reader.readRecord());
+    }
+
+    @Test
+    void lineNumberCountsLinesInsideQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h1,h2\r\n\"a\nb\nc\",1\r\nd,2\r\n"));
+
+        assertEquals(1, reader.getLineNumber());
+        reader.readRecord();
+        assertEquals(2, reader.getLineNumber());
+        reader.readRecord();
+        // The multi-line record took lines 2 to 4
+        assertEquals(5, reader.getLineNumber());
+        assertEquals(List.of("d", "2"), reader.readRecord());
+        assertEquals(6, reader.getLineNumber());
+    }
+
+    @Test
+    void blankLineIsOneEmptyField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\nb\n"));
+
+        assertEquals(List.of("a"), reader.readRecord());
+        assertEquals(List.of(""), reader.readRecord());
+        assertEquals(List.of("b"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        CsvReader reader = new CsvReader(new StringReader("a,\"never closed\nb,c\n"));
+
+        IOException error = assertThrows(IOException.class, reader::readRecord);
+        assertTrue(error.getMessage().startsWith("Unterminated quoted field"), error.getMessage());
+    }
+}
@@ -0,0 +1,162 @@
+package com.mylittlepet.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    void runsTaskNoEarlierThanItsTick() throws Exception {
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", TICK_MS, 8);
+        wheel.start();
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            AtomicLong firedAt = new AtomicLong();
+            long deadline = System.currentTimeMillis() + 50;
+
+            wheel.schedule(() -> {
+                firedAt.set(System.currentTimeMillis());
+                fired.countDown();
+            }, deadline);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertTrue(firedAt.get() >= deadline - TICK_MS, "fired " + (deadline - firedAt.get()) + " ms early");
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void deadlineSeveralRotationsAwayWaitsForItsRotation() throws Exception {
+        // 4 buckets of 10 ms: one rotation is 40 ms, the deadline is almost four rotations away
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", TICK_MS, 4);
+        wheel.start();
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            AtomicLong firedAt = new AtomicLong();
+            long deadline = System.currentTimeMillis() + 150;
+
+            wheel.schedule(() -> {
+                firedAt.set(System.currentTimeMillis());
+                fired.countDown();
+            }, deadline);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertTrue(firedAt.get() >= deadline - TICK_MS, "fired on an earlier rotation");
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws Exception {
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", TICK_MS, 8);
+        wheel.start();
+        try {
+            AtomicBoolean cancelledRan = new AtomicBoolean();
+            CountDownLatch sentinel = new CountDownLatch(1);
+            long now = System.currentTimeMillis();
+
+            HashedTimingWheel.Timeout timeout = wheel.schedule(() -> cancelledRan.set(true), now + 30);
+            timeout.cancel();
+            // Same bucket one rotation later, so the cancelled slot has certainly been processed
+            wheel.schedule(sentinel::countDown, now + 30 + 8 * TICK_MS);
+
+            assertTrue(timeout.isCancelled());
+            assertTrue(sentinel.await(2, TimeUnit.SECONDS));
+            assertFalse(cancelledRan.get());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void pastDeadlineRunsOnNextTick() throws Exception {
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", TICK_MS, 8);
+        wheel.start();
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            wheel.schedule(fired::countDown, System.currentTimeMillis() - 1_000);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void runsEveryTaskAcrossAllBuckets() throws Exception {
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", TICK_MS, 4);
+        wheel.start();
+        try {
+            int tasks = 200;
+            CountDownLatch fired = new CountDownLatch(tasks);
+            AtomicInteger failures = new AtomicInteger();
+            long now = System.currentTimeMillis();
+
+            for (int i = 0; i < tasks; i++) {
+                long deadline = now + (i % 20) * 7;
+                wheel.schedule(() -> {
+                    if (System.currentTimeMillis() < deadline - TICK_MS) {
+                        failures.incrementAndGet();
+                    }
+                    fired.countDown();
+                }, deadline);
+            }
+
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            assertEquals(0, failures.get(), "tasks fired early");
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void taskScheduledWhileTickingIsNotPushedAFullRotation() throws Exception {
+        // 1 ms ticks, one rotation is 4 s: a task that missed its bucket would run about 4 s late
+        HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", 1, 4096);
+        wheel.start();
+        try {
+            int threads = 4;
+            int tasksPerThread = 20_000;
+            CountDownLatch fired = new CountDownLatch(threads * tasksPerThread);
+            AtomicLong maxLateness = new AtomicLong();
+            List<Thread> schedulers = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                Thread scheduler = new Thread(() -> {
+                    for (int i = 0; i < tasksPerThread; i++) {
+                        long deadline = System.currentTimeMillis();
+                        wheel.schedule(() -> {
+                            maxLateness.accumulateAndGet(System.currentTimeMillis() - deadline, Math::max);
+                            fired.countDown();
+                        }, deadline);
+                    }
+                });
+                schedulers.add(scheduler);
+                scheduler.start();
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+
+            assertTrue(fired.await(10, TimeUnit.SECONDS), fired.getCount() + " tasks never ran");
+            assertTrue(maxLateness.get() < 1_000, "a task ran " + maxLateness.get() + " ms late");
+        } finally {
+            wheel.stop();
+        }
+    }
+}
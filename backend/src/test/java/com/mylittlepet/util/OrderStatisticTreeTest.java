@@ -0,0 +1,122 @@
+package com.mylittlepet.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatisticTreeTest {
+
+    // Same order as the tree: score descending, then id ascending
+    private static final Comparator<long[]> ORDER = Comparator.<long[]>comparingLong(key -> -key[0])
+            .thenComparingLong(key -> key[1]);
+
+    @Test
+    void ranksByScoreDescendingThenIdAscending() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        tree.insert(10, 5);
+        tree.insert(30, 9);
+        tree.insert(10, 2);
+        tree.insert(20, 7);
+        tree.insert(10, 8);
+
+        assertEquals(5, tree.size());
+        assertEquals(0, tree.rank(30, 9));
+        assertEquals(1, tree.rank(20, 7));
+        // Equal scores are ordered by id
+        assertEquals(2, tree.rank(10, 2));
+        assertEquals(3, tree.rank(10, 5));
+        assertEquals(4, tree.rank(10, 8));
+
+        assertEquals(9, tree.idAt(0));
+        assertEquals(7, tree.idAt(1));
+        assertEquals(2, tree.idAt(2));
+        assertEquals(5, tree.idAt(3));
+        assertEquals(8, tree.idAt(4));
+        assertEquals(10, tree.scoreAt(4));
+    }
+
+    @Test
+    void missingKeysAndOutOfRangeRanks() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        assertEquals(-1, tree.idAt(0));
+        assertEquals(-1, tree.rank(1, 1));
+
+        tree.insert(5, 1);
+        // Same id with another score, and same score with another id, are different keys
+        assertEquals(-1, tree.rank(6, 1));
+        assertEquals(-1, tree.rank(5, 2));
+        assertEquals(-1, tree.idAt(-1));
+        assertEquals(-1, tree.idAt(1));
+    }
+
+    @Test
+    void removeTakesOnlyTheExactKeyAmongDuplicateScores() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        for (int id = 1; id <= 5; id++) {
+            tree.insert(100, id);
+        }
+
+        assertTrue(tree.remove(100, 3));
+        assertFalse(tree.remove(100, 3));
+        assertFalse(tree.remove(99, 4));
+
+        assertEquals(4, tree.size());
+        assertEquals(-1, tree.rank(100, 3));
+        assertEquals(0, tree.rank(100, 1));
+        assertEquals(1, tree.rank(100, 2));
+        assertEquals(2, tree.rank(100, 4));
+        assertEquals(3, tree.rank(100, 5));
+        assertEquals(4, tree.idAt(2));
+    }
+
+    @Test
+    void scoreUpdateIsRemoveThenInsert() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        tree.insert(50, 1);
+        tree.insert(40, 2);
+        tree.insert(40, 3);
+
+        assertTrue(tree.remove(40, 3));
+        tree.insert(60, 3);
+
+        assertEquals(0, tree.rank(60, 3));
+        assertEquals(1, tree.rank(50, 1));
+        assertEquals(2, tree.rank(40, 2));
+    }
+
+    @Test
+    void matchesSortedListUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        OrderStatisticTree tree = new OrderStatisticTree();
+        List<long[]> expected = new ArrayList<>();
+        int nextId = 0;
+
+        for (int step = 0; step < 5_000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                // Few distinct scores, so most keys share their score with others
+                long[] key = { random.nextInt(20), nextId++ };
+                tree.insert(key[0], (int) key[1]);
+                expected.add(key);
+            } else {
+                long[] key = expected.remove(random.nextInt(expected.size()));
+                assertTrue(tree.remove(key[0], (int) key[1]));
+            }
+        }
+
+        expected.sort(ORDER);
+        assertEquals(expected.size(), tree.size());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            long[] key = expected.get(rank);
+            assertEquals(key[1], tree.idAt(rank), "id at rank " + rank);
+            assertEquals(key[0], tree.scoreAt(rank), "score at rank " + rank);
+            assertEquals(rank, tree.rank(key[0], (int) key[1]), "rank of id " + key[1]);
+        }
+    }
+}
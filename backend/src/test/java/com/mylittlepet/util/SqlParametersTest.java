@@ -0,0 +1,54 @@
+package com.mylittlepet.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlParametersTest {
+
+    @Test
+    void slicesStayUnderTheParameterLimitAndKeepOrder() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 4_501; i++) {
+            values.add(i);
+        }
+
+        List<List<Integer>> slices = SqlParameters.slices(values);
+        assertEquals(3, slices.size());
+        assertEquals(SqlParameters.MAX_PER_STATEMENT, slices.get(0).size());
+        assertEquals(501, slices.get(2).size());
+
+        List<Integer> joined = new ArrayList<>();
+        slices.forEach(joined::addAll);
+        assertEquals(values, joined);
+    }
+
+    @Test
+    void slicesCountEveryParameterOfAValue() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+
+        for (List<Integer> slice : SqlParameters.slices(values, 6)) {
+            assertTrue(slice.size() * 6 <= SqlParameters.MAX_PER_STATEMENT);
+        }
+        assertEquals(4, SqlParameters.slices(values, 6).size());
+    }
+
+    @Test
+    void emptyInputHasNoSlices() {
+        assertTrue(SqlParameters.slices(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    void placeholdersAreCommaSeparated() {
+        assertEquals("?", SqlParameters.placeholders(1));
+        assertEquals("?,?,?", SqlParameters.placeholders(3));
+        assertEquals("(?, ?),(?, ?)", SqlParameters.placeholders(2, "(?, ?)"));
+    }
+}
@@ -48,7 +48,7 @@
  * @version 2.0
  * @author My Little Pet Team
  */
-import React, { createContext, useContext, useState, useEffect } from 'react';
+import React, { createContext, useContext, useState, useEffect, useCallback } from 'react';
 import apiService from '../services/api';
 
 // ============================================================================================
@@ -211,7 +211,12 @@ export const AuthProvider = ({ children }) => {
                             }
                         });
 
-                        if (response.ok) {
+                        // Access tokens are short-lived; try the refresh token before giving up
+                        const refreshed = !response.ok && localStorage.getItem('refreshToken')
+                            ? await apiService.refreshSession().catch(() => null)
+                            : null;
+
+                        if (response.ok || (refreshed && refreshed.token)) {
                             /**
                              * Token Valid - Restore Session
                              * Token passed backend validation, safe to restore user session
@@ -225,6 +230,7 @@ export const AuthProvider = ({ children }) => {
                              */
                             console.log('❌ AuthContextV2: Token is invalid, clearing session');
                             localStorage.removeItem('authToken');
+                            localStorage.removeItem('refreshToken');
                             localStorage.removeItem('adminUser');
                             setUser(null);
                         }
@@ -421,7 +427,7 @@ export const AuthProvider = ({ children }) => {
      * 
      * This ensures complete cleanup and prevents session leakage
      */
-    const logout = () => {
+    const logout = useCallback(() => {
         console.log('🚪 AuthContextV2: Logging out user');
 
         /**
@@ -429,7 +435,13 @@ export const AuthProvider = ({ children }) => {
          * Remove all auth-related items from localStorage
          * This includes tokens, user data, and session tracking
          */
+        // End the server-side session (best effort - local data is cleared regardless)
+        if (localStorage.getItem('authToken')) {
+            apiService.logoutSession().catch(() => { });
+        }
+
         localStorage.removeItem('authToken');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('adminUser');
         localStorage.removeItem('lastActivity');
         localStorage.removeItem('lastVisitedPath'); // Also clear the saved path
@@ -440,7 +452,31 @@ export const AuthProvider = ({ children }) => {
          */
         setUser(null);
         console.log('✅ AuthContextV2: Logout completed');
-    };
+    }, []);
+
+    /**
+     * Session Expiry Events
+     *
+     * While a user is signed in, follow the server's session event stream
+     * (GET /api/session/events) instead of polling /api/session/status:
+     * - "expiring": rotate the refresh token, which extends the session
+     * - "expired": the session is over, log out locally
+     */
+    useEffect(() => {
+        if (!user) {
+            return undefined;
+        }
+
+        const unsubscribe = apiService.subscribeSessionEvents((eventName) => {
+            if (eventName === 'expiring') {
+                apiService.refreshSession().catch(() => { });
+            } else if (eventName === 'expired') {
+                console.log('⏰ AuthContextV2: Session expired');
+                logout();
+            }
+        });
+        return unsubscribe;
+    }, [user, logout]);
 
     /**
      * Clear Auth Data Method
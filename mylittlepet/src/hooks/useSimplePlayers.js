@@ -17,13 +17,15 @@
  * - Performance optimizations with useCallback for stable function references
  * 
  * USAGE PATTERNS:
- * 1. Data Loading: Auto-loaded on hook initialization
+ * 1. Data Loading: One cursor page is loaded on initialization and whenever the filters change;
+ *    goToNextPage()/goToPrevPage() move between pages without downloading the rest of the list
  * 2. Statistics: Access statistics object for dashboard displays
  * 3. Relationships: getPlayerPets() - Fetch player's pet collection
  * 4. State Access: players, loading, error states
  * 
  * STATE MANAGEMENT:
- * - players: Array - All players data
+ * - players: Array - Players on the current page
+ * - currentPage / hasMore: position in the cursor-paginated listing
  * - loading: boolean - Loading state for async operations
  * - error: string/null - Error state for error handling
  * - statistics: Object - Player statistics (total, active, banned, etc.)
@@ -47,16 +49,24 @@
  * 
  * @returns {Object} Hook state and methods for comprehensive player management
  */
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useRef } from 'react';
 import apiService from '../services/api';
 
-export const useSimplePlayers = () => {
+/**
+ * @param {Object} options - { pageSize, keyword, minLevel, maxLevel } filters applied on the server
+ */
+export const useSimplePlayers = ({ pageSize = 10, keyword = '', minLevel, maxLevel } = {}) => {
     // ===== STATE MANAGEMENT =====
-    const [players, setPlayers] = useState([]);           // All players data
+    const [players, setPlayers] = useState([]);           // Players on the current page
     const [loading, setLoading] = useState(false);        // Loading state
     const [error, setError] = useState(null);             // Error state
     const [stats, setStats] = useState({});               // Player statistics
 
+    // ===== CURSOR PAGINATION STATE =====
+    const [cursors, setCursors] = useState([null]);       // Cursor that opened each visited page (last = current)
+    const [nextCursor, setNextCursor] = useState(null);   // Cursor of the page after the current one
+    const latestRequest = useRef(0);                      // Ignores responses that arrive after a newer request
+
     // ===== STATISTICS MANAGEMENT =====
     /**
      * Load and calculate player statistics
@@ -64,10 +74,11 @@ export const useSimplePlayers = () => {
      */
     const loadStats = useCallback(async () => {
         try {
-            // Fetch fresh data for accurate statistics
-            const allPlayers = await apiService.getAllPlayers();
+            // Totals are computed on the server; no need to download every player
+            const adminStats = await apiService.getAdminStats();
             const statsData = {
-                total: allPlayers.length
+                total: adminStats.totalPlayers,
+                banned: adminStats.bannedPlayers
             };
             setStats(statsData);
             console.log('📊 Player statistics updated:', statsData);
@@ -79,53 +90,92 @@ export const useSimplePlayers = () => {
 
     // ===== DATA LOADING =====
     /**
-     * Load all players from the API
-     * This function fetches all players and stores them in state
+     * Load one page of players from the API
+     * Only the requested page is fetched; the server applies the search and level filters
      * 
+     * @param {string|null} cursor - Cursor returned with the previous page, or null for the first page
      * @returns {Promise<void>} - Returns a promise that resolves when loading is complete
      */
-    const loadPlayers = useCallback(async () => {
+    const loadPage = useCallback(async (cursor) => {
+        const requestId = ++latestRequest.current;
         try {
             // Set loading state to show spinner/loading indicator in UI
             setLoading(true);
             // Clear any previous error messages
             setError(null);
 
-            // Fetch all players from the backend API
-            const response = await apiService.getAllPlayers();
-            console.log('✅ Players loaded successfully:', response.length, 'players');
+            const response = await apiService.getPlayersPage({
+                cursor,
+                size: pageSize,
+                keyword: keyword.trim(),
+                minLevel,
+                maxLevel
+            });
+            if (requestId !== latestRequest.current) {
+                return;
+            }
 
             // Ensure we have an array, even if API returns unexpected data
-            const allPlayers = Array.isArray(response) ? response : [];
-            // Store all players in state
-            setPlayers(allPlayers);
+            const content = Array.isArray(response?.content) ? response.content : [];
+            console.log('✅ Players page loaded:', content.length, 'players');
+            setPlayers(content);
+            setNextCursor(response?.hasMore ? response.nextCursor : null);
 
         } catch (error) {
+            if (requestId !== latestRequest.current) {
+                return;
+            }
             // Handle any errors that occur during API call or data processing
             console.error('❌ Load players error:', error);
             // Set user-friendly error message
             setError('Không thể tải danh sách người chơi');
             // Clear player data to prevent showing stale data
             setPlayers([]);
+            setNextCursor(null);
         } finally {
             // Always turn off loading state, regardless of success or failure
-            setLoading(false);
+            if (requestId === latestRequest.current) {
+                setLoading(false);
+            }
+        }
+    }, [pageSize, keyword, minLevel, maxLevel]); // Recreated when the filters change
+
+    /**
+     * Go to the page after the current one (no-op on the last page)
+     */
+    const goToNextPage = useCallback(async () => {
+        if (!nextCursor) {
+            return;
         }
-    }, []); // No dependencies needed since we're not using pagination
+        setCursors(prev => [...prev, nextCursor]);
+        await loadPage(nextCursor);
+    }, [nextCursor, loadPage]);
+
+    /**
+     * Go back to the previous page by reloading it from the cursor that opened it
+     */
+    const goToPrevPage = useCallback(async () => {
+        if (cursors.length <= 1) {
+            return;
+        }
+        const previous = cursors.slice(0, -1);
+        setCursors(previous);
+        await loadPage(previous[previous.length - 1]);
+    }, [cursors, loadPage]);
 
     /**
      * Refresh players data and update statistics
      * This function is called when data needs to be refreshed (e.g., after updates)
-     * It reloads all player data and recalculates statistics
+     * It reloads the current page and recalculates statistics
      * 
      * @returns {Promise<void>} - Returns a promise that resolves when refresh is complete
      */
     const refreshPlayers = useCallback(async () => {
-        // Reload all players data
-        await loadPlayers();
+        // Reload the page currently shown
+        await loadPage(cursors[cursors.length - 1]);
         // Update statistics with fresh data
         await loadStats();
-    }, [loadPlayers, loadStats]); // Recreate if any of these dependencies change
+    }, [cursors, loadPage, loadStats]); // Recreate if any of these dependencies change
 
     // ============================================================================================
     // UTILITY FUNCTIONS
@@ -156,6 +206,23 @@ export const useSimplePlayers = () => {
         }
     }, []);
 
+    /**
+     * Get a player's profile (player data plus a page of their pets) in one request
+     * @param {number} playerId - Player ID
+     * @param {Object} options - { petOffset, petLimit } to page through the pets
+     * @returns {Object} { player, pets, petOffset, hasMorePets }
+     */
+    const getPlayerProfile = useCallback(async (playerId, options) => {
+        try {
+            const profile = await apiService.getPlayerProfile(playerId, options);
+            console.log('✅ Player profile retrieved:', profile.pets?.length, 'pets');
+            return profile;
+        } catch (error) {
+            console.error('❌ Get player profile error:', error);
+            throw error;
+        }
+    }, []);
+
 
 
     // ============================================================================================
@@ -163,26 +230,39 @@ export const useSimplePlayers = () => {
     // ============================================================================================
 
     /**
-     * Auto-load players and stats when hook is first used
-     * This ensures data is available immediately when component mounts
+     * Load the first page when the hook is first used and again whenever the filters change
+     */
+    useEffect(() => {
+        setCursors([null]);
+        loadPage(null);
+    }, [loadPage]);
+
+    /**
+     * Load stats once when the component mounts
      */
     useEffect(() => {
-        loadPlayers();
         loadStats();
-    }, [loadPlayers, loadStats]);
+    }, [loadStats]);
 
     // ============================================================================================
     // RETURN HOOK INTERFACE  
     // ============================================================================================
     return {
         // ===== CORE DATA STATE =====
-        players,                        // All players data
+        players,                        // Players on the current page
         loading,                        // Loading state for UI feedback
         error,                          // Error state for error handling
         stats,                          // Player statistics
 
+        // ===== PAGINATION =====
+        currentPage: cursors.length,    // 1-based number of the current page
+        hasMore: nextCursor !== null,   // Whether a next page exists
+        goToNextPage,                   // Load the next page
+        goToPrevPage,                   // Reload the previous page
+
         // ===== UTILITIES =====
         getPlayerPets,                  // Get pets owned by player
+        getPlayerProfile,               // Get player with a page of their pets
         refreshData: refreshPlayers     // Refresh all player data
     };
 };
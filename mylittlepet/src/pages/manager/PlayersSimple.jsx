@@ -11,7 +11,7 @@
  * - Pagination for large datasets
  */
 
-import React, { useState, useEffect, useMemo, useCallback } from 'react';
+import React, { useState, useEffect, useMemo, useCallback, useRef } from 'react';
 import { Search, Eye, Users, ChevronLeft, ChevronRight, ChevronUp, ChevronDown, X, Filter, Save, Shield, ShieldCheck } from 'lucide-react';
 import { useSimplePlayers } from '../../hooks/useSimplePlayers';
 import { useNotificationManager } from '../../hooks/useNotificationManager';
@@ -117,6 +117,16 @@ const NotificationToast = ({ message, type, onClose, duration = 3000 }) => {
     );
 };
 
+// Players per page requested from the server
+const ITEMS_PER_PAGE = 10;
+
+// Level filter options mapped to the server's minLevel/maxLevel parameters
+const LEVEL_RANGES = {
+    low: { maxLevel: 9 },
+    medium: { minLevel: 10, maxLevel: 49 },
+    high: { minLevel: 50 }
+};
+
 /**
  * Main Player Management Component
  * 
@@ -128,29 +138,12 @@ const PlayersSimple = () => {
     // HOOKS AND DATA MANAGEMENT
     // ============================================================================
 
-    /**
-     * Custom hook for player data management
-     * Provides players data, loading states, and utility functions
-     */
-    const {
-        players, // All players data
-        loading, // Loading state for initial data fetch
-        error, // Error state for data fetching
-        stats,
-        getPlayerPets,
-        refreshData: refreshPlayers
-    } = useSimplePlayers();
-
-    // ============================================================================
-    // STATE MANAGEMENT
-    // ============================================================================
-
     // Search state with debouncing for performance
     const [localSearchTerm, setLocalSearchTerm] = useState('');
     const [debouncedSearchTerm, setDebouncedSearchTerm] = useState('');
 
     /**
-     * Debounce search term to prevent excessive filtering
+     * Debounce search term to prevent excessive requests
      * Waits 300ms after user stops typing before applying search
      */
     useEffect(() => {
@@ -161,10 +154,47 @@ const PlayersSimple = () => {
         return () => clearTimeout(timer);
     }, [localSearchTerm]);
 
+    // Sorting and filtering state
+    const [sortConfig, setSortConfig] = useState({ key: null, direction: 'asc' });
+    const [levelFilter, setLevelFilter] = useState('all'); // Filter by level range
+    const [showAdvancedFilters, setShowAdvancedFilters] = useState(false); // Toggle advanced filters
+
+    // Level filter ranges, applied by the server
+    const levelRange = LEVEL_RANGES[levelFilter] || {};
+
+    /**
+     * Custom hook for player data management
+     * Loads one server-filtered page at a time and provides loading states and utility functions
+     */
+    const {
+        players, // Players on the current page
+        loading, // Loading state for data fetches
+        error, // Error state for data fetching
+        stats,
+        currentPage,
+        hasMore,
+        goToNextPage,
+        goToPrevPage,
+        getPlayerProfile,
+        refreshData: refreshPlayers
+    } = useSimplePlayers({
+        pageSize: ITEMS_PER_PAGE,
+        keyword: debouncedSearchTerm,
+        minLevel: levelRange.minLevel,
+        maxLevel: levelRange.maxLevel
+    });
+
+    // ============================================================================
+    // STATE MANAGEMENT
+    // ============================================================================
+
     // Modal and UI state
     const [selectedPlayer, setSelectedPlayer] = useState(null); // Player selected for detailed view
     const [selectedPlayerPets, setSelectedPlayerPets] = useState([]); // Pets owned by selected player
     const [loadingPets, setLoadingPets] = useState(false); // Loading state for pet data
+    const [hasMorePets, setHasMorePets] = useState(false); // Whether the player owns more pets than loaded
+    const [loadingMorePets, setLoadingMorePets] = useState(false); // Loading state for the next page of pets
+    const selectedPlayerId = useRef(null); // Id of the player shown in the modal, read by async pet loads
 
     // Notification management
     const {
@@ -173,11 +203,6 @@ const PlayersSimple = () => {
         clearNotification,
     } = useNotificationManager(refreshPlayers);
 
-    // Sorting and filtering state
-    const [sortConfig, setSortConfig] = useState({ key: null, direction: 'asc' });
-    const [levelFilter, setLevelFilter] = useState('all'); // Filter by level range
-    const [showAdvancedFilters, setShowAdvancedFilters] = useState(false); // Toggle advanced filters
-
     // ============================================================================
     // EVENT HANDLERS
     // ============================================================================
@@ -202,123 +227,42 @@ const PlayersSimple = () => {
     // DATA PROCESSING AND PAGINATION
     // ============================================================================
 
-    // Client-side pagination state for filtered results
-    const [currentPage, setCurrentPage] = useState(1);
-    const itemsPerPage = 10;
-
     /**
-     * Filters and sorts all players based on current filter and sort settings
-     * This provides proper client-side filtering and sorting
+     * Sorts the players of the current page
+     * Search and level filters are applied by the server; sorting only reorders the page shown
      */
-    const filteredPlayers = useMemo(() => {
-        // Safety check: ensure players is an array before filtering
+    const displayPlayers = useMemo(() => {
+        // Safety check: ensure players is an array before sorting
         if (!Array.isArray(players)) {
             return [];
         }
-
-        // Start with all players from the hook
-        let filtered = players.filter(player => {
-            // Apply search filter using debounced search term
-            if (debouncedSearchTerm.trim()) {
-                const searchLower = debouncedSearchTerm.toLowerCase();
-                const userName = (player.userName || '').toLowerCase();
-                const email = (player.email || '').toLowerCase();
-                if (!userName.includes(searchLower) && !email.includes(searchLower)) return false;
-            }
-
-            // Apply level filter
-            if (levelFilter !== 'all') {
-                const playerLevel = player.level || 1;
-                switch (levelFilter) {
-                    case 'low':
-                        if (playerLevel >= 10) return false;
-                        break;
-                    case 'medium':
-                        if (playerLevel < 10 || playerLevel >= 50) return false;
-                        break;
-                    case 'high':
-                        if (playerLevel < 50) return false;
-                        break;
-                    default:
-                        break;
-                }
-            }
-
-            return true;
-        });
-
-        // Apply sorting if sort configuration is set
-        if (sortConfig.key) {
-            filtered.sort((a, b) => {
-                let aValue = a[sortConfig.key];
-                let bValue = b[sortConfig.key];
-
-                // Handle string comparisons case-insensitively
-                if (typeof aValue === 'string') {
-                    aValue = aValue.toLowerCase();
-                    bValue = bValue.toLowerCase();
-                }
-
-                // Handle null/undefined values
-                if (aValue == null) aValue = '';
-                if (bValue == null) bValue = '';
-
-                if (aValue < bValue) {
-                    return sortConfig.direction === 'asc' ? -1 : 1;
-                }
-                if (aValue > bValue) {
-                    return sortConfig.direction === 'asc' ? 1 : -1;
-                }
-                return 0;
-            });
+        if (!sortConfig.key) {
+            return players;
         }
 
-        return filtered;
-    }, [players, debouncedSearchTerm, sortConfig, levelFilter]);
+        return [...players].sort((a, b) => {
+            let aValue = a[sortConfig.key];
+            let bValue = b[sortConfig.key];
 
-    // Calculate pagination values for filtered results
-    const totalPages = Math.ceil(filteredPlayers.length / itemsPerPage);
-    const startIndex = (currentPage - 1) * itemsPerPage;
-    const endIndex = startIndex + itemsPerPage;
-    const displayPlayers = filteredPlayers.slice(startIndex, endIndex);
-
-    /**
-     * Reset to first page when any filter changes
-     */
-    useEffect(() => {
-        setCurrentPage(1);
-    }, [debouncedSearchTerm, levelFilter]);
+            // Handle string comparisons case-insensitively
+            if (typeof aValue === 'string') {
+                aValue = aValue.toLowerCase();
+                bValue = bValue.toLowerCase();
+            }
 
-    // ============================================================================
-    // PAGINATION HANDLERS
-    // ============================================================================
+            // Handle null/undefined values
+            if (aValue == null) aValue = '';
+            if (bValue == null) bValue = '';
 
-    /**
-     * Handler to go to a specific page
-     */
-    const goToPage = (page) => {
-        if (page >= 1 && page <= totalPages) {
-            setCurrentPage(page);
-        }
-    };
-
-    /**
-     * Handler to go to the previous page
-     */
-    const goToPrevPage = () => {
-        if (currentPage > 1) {
-            setCurrentPage(currentPage - 1);
-        }
-    };
-
-    /**
-     * Handler to go to the next page
-     */
-    const goToNextPage = () => {
-        if (currentPage < totalPages) {
-            setCurrentPage(currentPage + 1);
-        }
-    };
+            if (aValue < bValue) {
+                return sortConfig.direction === 'asc' ? -1 : 1;
+            }
+            if (aValue > bValue) {
+                return sortConfig.direction === 'asc' ? 1 : -1;
+            }
+            return 0;
+        });
+    }, [players, sortConfig]);
 
     // ============================================================================
     // MODAL AND CRUD HANDLERS
@@ -329,15 +273,21 @@ const PlayersSimple = () => {
      * @param {Object} player - Player object to display details for
      */
     const handleView = async (player) => {
+        selectedPlayerId.current = player.id;
         setSelectedPlayer(player);
+        setHasMorePets(false);
         setLoadingPets(true);
 
         try {
-            console.log('Loading pets for player:', player.userName);
-            // Fetch pets associated with this player using the hook method
-            const pets = await getPlayerPets(player.id);
-            setSelectedPlayerPets(pets || []);
-            console.log('Pets loaded:', pets);
+            console.log('Loading profile for player:', player.userName);
+            // Fetch the current player data and their pets in one request
+            const profile = await getPlayerProfile(player.id);
+            if (profile?.player) {
+                setSelectedPlayer(profile.player);
+            }
+            setSelectedPlayerPets(profile?.pets || []);
+            setHasMorePets(Boolean(profile?.hasMorePets));
+            console.log('Pets loaded:', profile?.pets);
         } catch (error) {
             console.error('Failed to load player pets:', error);
             setSelectedPlayerPets([]);
@@ -347,6 +297,31 @@ const PlayersSimple = () => {
         }
     };
 
+    /**
+     * Loads the next page of the selected player's pets and appends it to the list
+     */
+    const handleLoadMorePets = async () => {
+        if (!selectedPlayer || loadingMorePets) {
+            return;
+        }
+        const playerId = selectedPlayer.id;
+        setLoadingMorePets(true);
+
+        try {
+            const profile = await getPlayerProfile(playerId, { petOffset: selectedPlayerPets.length });
+            // Ignore the page if the modal was closed or switched to another player meanwhile
+            if (selectedPlayerId.current === playerId) {
+                setSelectedPlayerPets(pets => [...pets, ...(profile?.pets || [])]);
+                setHasMorePets(Boolean(profile?.hasMorePets));
+            }
+        } catch (error) {
+            console.error('Failed to load more player pets:', error);
+            showNotification('Failed to load more pets', 'error');
+        } finally {
+            setLoadingMorePets(false);
+        }
+    };
+
     // ============================================================================
     // COMPONENT RENDER
     // ============================================================================
@@ -385,7 +360,7 @@ const PlayersSimple = () => {
                                 </div>
                                 <p className="text-sm font-medium text-gray-600">Total Players</p>
                             </div>
-                            <p className="text-2xl font-bold text-green-600">{stats?.total || players.length}</p>
+                            <p className="text-2xl font-bold text-green-600">{stats?.total || 0}</p>
                         </div>
                     </div>
                 </div>
@@ -398,7 +373,7 @@ const PlayersSimple = () => {
                                 <Users className="h-4 w-4 text-blue-600" />
                                 <p className="text-xs font-medium text-gray-600">Total Players</p>
                             </div>
-                            <p className="text-lg font-bold text-blue-600">{players?.length || 0}</p>
+                            <p className="text-lg font-bold text-blue-600">{stats?.total || 0}</p>
                         </div>
                     </div>
                 </div>
@@ -865,67 +840,30 @@ const PlayersSimple = () => {
                 )}
             </div>
 
-            {/* Pagination Controls */}
-            {totalPages > 1 && (
+            {/* Pagination Controls: cursor pages are walked forward and back, so no page count is known */}
+            {(currentPage > 1 || hasMore) && (
                 <div className="bg-gradient-to-r from-blue-50 to-cyan-50 p-6 border-t border-blue-200">
                     <div className="flex items-center justify-center">
                         <div className="flex items-center gap-2">
                             {/* Previous Button: Go to previous page, disabled on first page */}
                             <button
                                 onClick={goToPrevPage}
-                                disabled={currentPage === 1}
+                                disabled={currentPage === 1 || loading}
                                 className="px-4 py-2 bg-white border border-blue-300 text-blue-700 rounded-lg hover:bg-gradient-to-r hover:from-blue-50 hover:to-cyan-50 hover:border-blue-400 hover:text-blue-800 disabled:opacity-50 disabled:cursor-not-allowed disabled:hover:bg-white disabled:hover:text-blue-700 flex items-center gap-2 transition-all duration-200 shadow-sm"
                             >
                                 <ChevronLeft className="h-4 w-4" />
                                 <span className="hidden sm:inline">Previous Page</span>
                             </button>
 
-                            {/* Page Numbers: Show first, last, current, and neighbors. Ellipsis for skipped pages. */}
-                            <div className="flex items-center gap-1">
-                                {/* This line is used to dynamically generate the page number buttons */}
-                                {Array.from({ length: totalPages }, (_, i) => i + 1).map((page) => {
-                                    // Show first, last, and pages near the current page
-                                    const shouldShow =
-                                        page === 1 ||
-                                        page === totalPages ||
-                                        Math.abs(page - currentPage) <= 1;
-
-                                    // Hide most pages except for first, last, and neighbors
-                                    if (!shouldShow && page !== 2 && page !== totalPages - 1) {
-                                        return null;
-                                    }
-
-                                    // Show ellipsis if there is a gap between shown pages
-                                    if (
-                                        (page === 2 && currentPage > 4) ||
-                                        (page === totalPages - 1 && currentPage < totalPages - 3)
-                                    ) {
-                                        return (
-                                            <span key={page} className="px-2 text-blue-500">
-                                                ...
-                                            </span>
-                                        );
-                                    }
-                                    // Render page number button
-                                    return (
-                                        <button
-                                            key={page}
-                                            onClick={() => goToPage(page)}
-                                            className={`px-3 py-2 rounded-lg text-sm font-medium transition-all duration-200 ${page === currentPage
-                                                ? 'bg-gradient-to-r from-teal-500 to-green-500 text-white shadow-md'
-                                                : 'bg-white border border-blue-300 text-blue-700 hover:bg-gradient-to-r hover:from-blue-50 hover:to-cyan-50 hover:border-blue-400 hover:text-blue-800'
-                                                }`}
-                                        >
-                                            {page}
-                                        </button>
-                                    );
-                                })}
-                            </div>
+                            {/* Current page number */}
+                            <span className="px-3 py-2 rounded-lg text-sm font-medium bg-gradient-to-r from-teal-500 to-green-500 text-white shadow-md">
+                                {currentPage}
+                            </span>
 
                             {/* Next Button: Go to next page, disabled on last page */}
                             <button
                                 onClick={goToNextPage}
-                                disabled={currentPage >= totalPages}
+                                disabled={!hasMore || loading}
                                 className="px-4 py-2 bg-white border border-blue-300 text-blue-700 rounded-lg hover:bg-gradient-to-r hover:from-blue-50 hover:to-cyan-50 hover:border-blue-400 hover:text-blue-800 disabled:opacity-50 disabled:cursor-not-allowed disabled:hover:bg-white disabled:hover:text-blue-700 flex items-center gap-2 transition-all duration-200 shadow-sm"
                             >
                                 <span className="hidden sm:inline">Next Page</span>
@@ -1091,7 +1029,9 @@ const PlayersSimple = () => {
                                         </div>
                                         {selectedPlayerPets.length > 0 && (
                                             <div className="px-3 py-1 bg-emerald-100 text-emerald-700 rounded-full text-sm font-medium">
-                                                {selectedPlayerPets.length} pets
+                                                {hasMorePets && selectedPlayer.totalPets
+                                                    ? `${selectedPlayerPets.length} of ${selectedPlayer.totalPets} pets`
+                                                    : `${selectedPlayerPets.length} pets`}
                                             </div>
                                         )}
                                     </div>
@@ -1105,40 +1045,55 @@ const PlayersSimple = () => {
                                             <span className="text-sm text-gray-500 mt-1">Please wait a moment</span>
                                         </div>
                                     ) : selectedPlayerPets.length > 0 ? (
-                                        <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-4">
-                                            {selectedPlayerPets.map((pet, index) => (
-                                                <div key={pet.playerPetId || index}
-                                                    className="group bg-gradient-to-br from-blue-50 via-indigo-50 to-purple-50 border border-blue-200 rounded-xl p-4 hover:shadow-lg hover:scale-105 transition-all duration-200 cursor-pointer">
-
-                                                    <div className="flex items-center justify-between mb-3">
-                                                        <div className="flex items-center gap-2">
-                                                            <div className="w-8 h-8 bg-gradient-to-r from-blue-500 to-purple-500 rounded-full flex items-center justify-center text-white shadow-md">
-                                                                <span className="text-sm">🐾</span>
+                                        <>
+                                            <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-4">
+                                                {selectedPlayerPets.map((pet, index) => (
+                                                    <div key={pet.playerPetId || index}
+                                                        className="group bg-gradient-to-br from-blue-50 via-indigo-50 to-purple-50 border border-blue-200 rounded-xl p-4 hover:shadow-lg hover:scale-105 transition-all duration-200 cursor-pointer">
+
+                                                        <div className="flex items-center justify-between mb-3">
+                                                            <div className="flex items-center gap-2">
+                                                                <div className="w-8 h-8 bg-gradient-to-r from-blue-500 to-purple-500 rounded-full flex items-center justify-center text-white shadow-md">
+                                                                    <span className="text-sm">🐾</span>
+                                                                </div>
+                                                                <div className="text-xs font-medium text-blue-600 bg-white px-2 py-1 rounded-full shadow-sm">
+                                                                    Lv.{pet.level || 1}
+                                                                </div>
                                                             </div>
-                                                            <div className="text-xs font-medium text-blue-600 bg-white px-2 py-1 rounded-full shadow-sm">
-                                                                Lv.{pet.level || 1}
+                                                            <div className="opacity-0 group-hover:opacity-100 transition-opacity duration-200">
+                                                                <div className="w-2 h-2 bg-green-400 rounded-full animate-pulse"></div>
                                                             </div>
                                                         </div>
-                                                        <div className="opacity-0 group-hover:opacity-100 transition-opacity duration-200">
-                                                            <div className="w-2 h-2 bg-green-400 rounded-full animate-pulse"></div>
+
+                                                        <div className="space-y-2">
+                                                            <h6 className="font-semibold text-gray-900 text-sm line-clamp-1" title={pet.petCustomName || pet.petDefaultName || 'Unnamed'}>
+                                                                {pet.petCustomName || pet.petDefaultName || 'Unnamed'}
+                                                            </h6>
+
+                                                            {pet.petType && (
+                                                                <div className="flex items-center gap-1 text-xs text-purple-600 bg-purple-100 px-2 py-1 rounded-full w-fit">
+                                                                    <span>🏷️</span>
+                                                                    <span>{pet.petType}</span>
+                                                                </div>
+                                                            )}
                                                         </div>
                                                     </div>
+                                                ))}
+                                            </div>
 
-                                                    <div className="space-y-2">
-                                                        <h6 className="font-semibold text-gray-900 text-sm line-clamp-1" title={pet.petCustomName || pet.petDefaultName || 'Unnamed'}>
-                                                            {pet.petCustomName || pet.petDefaultName || 'Unnamed'}
-                                                        </h6>
-
-                                                        {pet.petType && (
-                                                            <div className="flex items-center gap-1 text-xs text-purple-600 bg-purple-100 px-2 py-1 rounded-full w-fit">
-                                                                <span>🏷️</span>
-                                                                <span>{pet.petType}</span>
-                                                            </div>
-                                                        )}
-                                                    </div>
+                                            {/* Load more: the profile returns one page of pets at a time */}
+                                            {hasMorePets && (
+                                                <div className="mt-5 flex justify-center">
+                                                    <button
+                                                        onClick={handleLoadMorePets}
+                                                        disabled={loadingMorePets}
+                                                        className="px-5 py-2 bg-white border border-emerald-300 text-emerald-700 rounded-lg hover:bg-emerald-50 hover:border-emerald-400 disabled:opacity-50 disabled:cursor-not-allowed transition-all duration-200 text-sm font-medium shadow-sm"
+                                                    >
+                                                        {loadingMorePets ? 'Loading...' : 'Load more pets'}
+                                                    </button>
                                                 </div>
-                                            ))}
-                                        </div>
+                                            )}
+                                        </>
                                     ) : (
                                         <div className="text-center py-16 text-gray-500 bg-gradient-to-br from-gray-50 to-gray-100 rounded-xl border-2 border-dashed border-gray-200">
                                             <p className="text-lg font-semibold text-gray-700 mb-2">No pets found</p>
@@ -1162,6 +1117,7 @@ const PlayersSimple = () => {
                             <div className="flex gap-3">
                                 <button
                                     onClick={() => {
+                                        selectedPlayerId.current = null;
                                         setSelectedPlayer(null);
                                         setSelectedPlayerPets([]);
                                     }}
@@ -68,9 +68,10 @@ class ApiService {
      * 
      * @param {string} endpoint - API endpoint path (e.g., '/users', '/auth/login')
      * @param {Object} options - Fetch API options (method, body, headers, etc.)
+     * @param {boolean} isRetry - True when retrying after refreshing an expired access token
      * @returns {Promise<any>} Parsed response data or throws error
      */
-    async request(endpoint, options = {}) {
+    async request(endpoint, options = {}, isRetry = false) {
         // Construct full URL by combining base URL with endpoint
         const url = `${this.baseURL}${endpoint}`;
 
@@ -121,6 +122,15 @@ class ApiService {
 
             console.log('📦 Response data:', data);
 
+            // Access tokens are short-lived: on 401, rotate the refresh token once and retry
+            if (response.status === 401 && !isRetry && endpoint !== '/session/refresh'
+                && localStorage.getItem('refreshToken')) {
+                const refreshed = await this.refreshSession().catch(() => null);
+                if (refreshed && refreshed.token) {
+                    return this.request(endpoint, { ...options, headers: this.getAuthHeaders() }, true);
+                }
+            }
+
             /**
              * ============================================================================================
              * ERROR HANDLING AND RESPONSE VALIDATION
@@ -274,6 +284,10 @@ class ApiService {
             if (response.token) {
                 localStorage.setItem('authToken', response.token);
             }
+            // Refresh token is used to obtain new short-lived access tokens
+            if (response.refreshToken) {
+                localStorage.setItem('refreshToken', response.refreshToken);
+            }
             return response;
         } catch (error) {
             console.error('❌ ApiService: Backend login error:', error.message);
@@ -337,6 +351,7 @@ class ApiService {
      */
     logout() {
         localStorage.removeItem('authToken');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('adminUser');
     }
 
@@ -443,10 +458,23 @@ class ApiService {
      * 
      * @param {number} userId - Target user ID
      * @param {number} amount - Number of coins to add
-     * @returns {Promise<Object>} Updated user balance
+     * @returns {Promise<Object>} Applied deltas
      */
     async addCoins(userId, amount) {
-        return this.post(`/users/${userId}/coins`, { amount });
+        return this.adjustCurrency(userId, { coin: amount });
+    }
+
+    /**
+     * Add (or, with negative amounts, remove) player currencies atomically
+     * Server rejects debits that would make a balance negative (409)
+     *
+     * @param {number} playerId - Target player ID
+     * @param {Object} deltas - { coin, diamond, gem } signed amounts, omitted = 0
+     * @returns {Promise<Object>} Applied deltas
+     */
+    async adjustCurrency(playerId, deltas) {
+        console.log(`💰 API: Adjusting currency for player ${playerId}:`, deltas);
+        return this.post(`/players/${playerId}/currency`, deltas);
     }
 
     /**
@@ -467,37 +495,20 @@ class ApiService {
     // Players are a specialized type of user with game-specific features and data
 
     /**
-     * Get all players for admin management
-     * Includes comprehensive error handling to prevent app crashes
-     * 
-     * @returns {Promise<Array>} List of all players, guaranteed to return array
+     * Get one page of players (keyset pagination)
+     *
+     * @param {Object} params - { cursor, size, keyword, minLevel, maxLevel, sort: 'newest' | 'oldest' }
+     * @returns {Promise<Object>} { content, nextCursor, hasMore, size }
      */
-    async getAllPlayers() {
-        try {
-            console.log('🔍 Fetching all players from backend');
-            const response = await this.get('/players');
-            console.log('✅ Players fetched successfully:', response);
-
-            // Defensive programming: Ensure we always return an array
-            // Handle different API response formats from Spring Boot
-            if (Array.isArray(response)) {
-                return response;
-            } else if (response && typeof response === 'object') {
-                // Handle paginated responses or wrapped data
-                if (Array.isArray(response.content)) {
-                    return response.content; // Spring Boot Page<> format
-                } else if (Array.isArray(response.data)) {
-                    return response.data;    // Custom wrapper format
-                }
+    async getPlayersPage(params = {}) {
+        const query = new URLSearchParams();
+        Object.entries(params).forEach(([key, value]) => {
+            if (value !== undefined && value !== null && value !== '') {
+                query.append(key, value);
             }
-
-            console.warn('⚠️ Unexpected response format, returning empty array');
-            return [];
-        } catch (error) {
-            console.error('❌ Failed to fetch players:', error);
-            // Return empty array instead of throwing to prevent app crashes
-            return [];
-        }
+        });
+        const queryString = query.toString();
+        return this.get(`/players${queryString ? `?${queryString}` : ''}`);
     }
 
     /**
@@ -555,6 +566,46 @@ class ApiService {
         }
     }
 
+    /**
+     * Get admin dashboard statistics
+     * Totals for players, pets and shop products computed on the server
+     * 
+     * @returns {Promise<Object>} { totalPlayers, bannedPlayers, coinSupply, diamondSupply, gemSupply,
+     *                              joinsByDay, totalPets, petsByType, petsByStatus, totalProducts,
+     *                              productsByStatus, productsByCurrency, reconciledAt }
+     */
+    async getAdminStats() {
+        try {
+            console.log('📊 Fetching admin dashboard stats');
+            const response = await this.get('/admin/stats');
+            console.log('✅ Admin stats fetched successfully:', response);
+            return response;
+        } catch (error) {
+            console.error('❌ Failed to fetch admin stats:', error);
+            throw error;
+        }
+    }
+
+    /**
+     * Look up many players in one request
+     * Use instead of calling getPlayerById / getPlayerByEmail / getPlayerByUsername in a loop
+     * 
+     * @param {string} by - Key kind: 'id', 'email' or 'userName'
+     * @param {Array<number|string>} keys - Up to 5000 keys
+     * @returns {Promise<Object>} { players (in key order, null if not found), found, missing }
+     */
+    async getPlayersBatch(by, keys) {
+        try {
+            console.log(`📦 Fetching ${keys.length} players by ${by}`);
+            const response = await this.post('/players/batch-get', { by, keys });
+            console.log(`✅ Batch lookup done: ${response.found} found, ${response.missing?.length || 0} missing`);
+            return response;
+        } catch (error) {
+            console.error(`❌ Failed to fetch players by ${by}:`, error);
+            throw error;
+        }
+    }
+
     /**
      * Get players filtered by status
      * Supports player moderation (active, banned, etc.)
@@ -593,8 +644,9 @@ class ApiService {
      * For admin editing of player profiles and game data
      * 
      * @param {number} id - Player ID to update
-     * @param {Object} playerData - Updated player data
-     * @returns {Promise<Object>} Updated player data
+     * @param {Object} playerData - Updated player data; include the `version` from the
+     *                              player you loaded to be rejected (409) if it changed meanwhile
+     * @returns {Promise<Object>} Updated player data (with its new version)
      */
     async updatePlayer(id, playerData) {
         try {
@@ -610,7 +662,7 @@ class ApiService {
 
     /**
      * Delete player account
-     * Permanent removal of player data
+     * Soft delete: the player is banned permanently, data is kept
      * 
      * @param {number} id - Player ID to delete
      * @returns {Promise<Object>} Deletion confirmation
@@ -714,6 +766,30 @@ class ApiService {
         }
     }
 
+    /**
+     * Get player detail in one call: the player (with totalPets) and a page of their pets
+     * Replaces getPlayerById + getPlayerPets for the player detail view
+     * 
+     * @param {number} playerId - Player ID
+     * @param {Object} options - { petOffset, petLimit } paging of the pet list (newest first)
+     * @returns {Promise<Object>} { player, pets, petOffset, hasMorePets }
+     */
+    async getPlayerProfile(playerId, { petOffset = 0, petLimit = 0 } = {}) {
+        try {
+            console.log(`👤 Fetching profile for player ${playerId}`);
+            const params = new URLSearchParams();
+            if (petOffset) params.append('petOffset', petOffset);
+            if (petLimit) params.append('petLimit', petLimit);
+            const query = params.toString();
+            const response = await this.get(`/players/${playerId}/profile${query ? `?${query}` : ''}`);
+            console.log('✅ Player profile fetched successfully:', response);
+            return response;
+        } catch (error) {
+            console.error(`❌ Failed to fetch profile for player ${playerId}:`, error);
+            throw error;
+        }
+    }
+
     // ============================================================================================
     // PET MANAGEMENT API METHODS
     // ============================================================================================
@@ -815,6 +891,41 @@ class ApiService {
         return this.delete(`/pets/${id}`);
     }
 
+    /**
+     * Create many pets in one request (e.g. seeding a new season)
+     * Valid pets are saved together; invalid ones are reported, not saved
+     *
+     * @param {Array<Object>} pets - Pet data objects
+     * @returns {Promise<Object>} { succeeded, failed, results: [{ index, petId, status, message, pet }] }
+     */
+    async createPetsBulk(pets) {
+        console.log(`🐕 API: Creating ${pets.length} pets`);
+        return this.post('/pets/bulk', pets);
+    }
+
+    /**
+     * Update many pets in one request
+     * Each pet needs its petId; fields left out are kept
+     *
+     * @param {Array<Object>} pets - Pet data objects with petId
+     * @returns {Promise<Object>} Per-pet results (UPDATED, NOT_FOUND or INVALID)
+     */
+    async updatePetsBulk(pets) {
+        console.log(`🐕 API: Updating ${pets.length} pets`);
+        return this.put('/pets/bulk', pets);
+    }
+
+    /**
+     * Soft delete many pets in one request
+     *
+     * @param {Array<number>} ids - Pet IDs to delete
+     * @returns {Promise<Object>} Per-pet results (DELETED, NOT_FOUND or INVALID)
+     */
+    async deletePetsBulk(ids) {
+        console.log(`🐕 API: Deleting ${ids.length} pets`);
+        return this.post('/pets/bulk-delete', ids);
+    }
+
     /**
      * Test pet API connectivity
      * Diagnostic method for troubleshooting
@@ -1050,15 +1161,75 @@ class ApiService {
         return this.get('/session/status');
     }
 
+    /**
+     * Subscribe to admin session events (server-sent events) instead of polling getSessionStatus()
+     * Events: 'status' on connect, 'expiring' when the warning time is reached, 'expired' when the session ends
+     * Uses fetch streaming rather than EventSource so the Authorization header can be sent
+     * 
+     * @param {Function} onEvent - Called with (eventName, data) for every event
+     * @returns {Function} Call to close the stream
+     */
+    subscribeSessionEvents(onEvent) {
+        const controller = new AbortController();
+
+        (async () => {
+            const response = await fetch(`${this.baseURL}/session/events`, {
+                headers: { ...this.getAuthHeaders(), 'Accept': 'text/event-stream' },
+                signal: controller.signal
+            });
+            if (!response.ok || !response.body) {
+                throw new Error(`HTTP ${response.status}`);
+            }
+
+            const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+            let buffer = '';
+            for (;;) {
+                const { value, done } = await reader.read();
+                if (done) break;
+                buffer += value;
+
+                // Events are separated by a blank line
+                let boundary;
+                while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+                    const rawEvent = buffer.slice(0, boundary);
+                    buffer = buffer.slice(boundary + 2);
+
+                    let eventName = 'message';
+                    let data = '';
+                    rawEvent.split('\n').forEach(line => {
+                        if (line.startsWith('event:')) eventName = line.slice(6).trim();
+                        else if (line.startsWith('data:')) data += line.slice(5).trim();
+                    });
+                    onEvent(eventName, data ? JSON.parse(data) : null);
+                }
+            }
+        })().catch(error => {
+            if (error.name !== 'AbortError') {
+                console.error('❌ API: Session event stream failed:', error.message);
+            }
+        });
+
+        return () => controller.abort();
+    }
+
     /**
      * Refresh current admin session
-     * Extends session timeout with new token
+     * Exchanges the stored refresh token for a new access token and a new refresh token
+     * (each refresh token can only be used once) and extends the session timeout
      * 
      * @returns {Promise<Object>} New token and session info
      */
     async refreshSession() {
         console.log('🔐 API: Refreshing session');
-        return this.post('/session/refresh');
+        const refreshToken = localStorage.getItem('refreshToken');
+        const response = await this.post('/session/refresh', { refreshToken });
+        if (response.token) {
+            localStorage.setItem('authToken', response.token);
+        }
+        if (response.refreshToken) {
+            localStorage.setItem('refreshToken', response.refreshToken);
+        }
+        return response;
     }
 
     /**
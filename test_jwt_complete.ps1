@@ -127,13 +127,36 @@ $resetRequestData = @{
     email = "testadmin123@example.com"
 } | ConvertTo-Json
 
+$tokenUrl = "$baseUrl/api/test/password-reset-token?email=testadmin123@example.com"
+$previousToken = $null
+try {
+    $previousToken = (Invoke-RestMethod -Uri $tokenUrl -Method Get -Headers $headers).token
+} catch {
+    # No earlier token
+}
+
 try {
     $response = Invoke-RestMethod -Uri "$baseUrl/api/auth/forgot-password" -Method Post -Body $resetRequestData -Headers $headers
     Write-Host "✅ Password reset request successful: $($response.message)" -ForegroundColor Green
     
-    # Extract token from response message (in real app, this would be sent via email)
-    if ($response.message -like "*Token:*") {
-        $resetToken = ($response.message -split "Token: ")[1]
+    # The token is mailed, not returned; under the dev profile the dev mailer's copy can be read back
+    # (tokens are issued in the background, so allow a moment for it to arrive)
+    $resetToken = $null
+    for ($attempt = 0; $attempt -lt 10 -and -not $resetToken; $attempt++) {
+        Start-Sleep -Milliseconds 300
+        try {
+            $tokenResponse = Invoke-RestMethod -Uri $tokenUrl -Method Get -Headers $headers
+            if ($tokenResponse.token -ne $previousToken) {
+                $resetToken = $tokenResponse.token
+            }
+        } catch {
+            # 404 until the token is issued (or always, if the server is not running with the dev profile)
+        }
+    }
+
+    if (-not $resetToken) {
+        Write-Host "❌ No reset token received: start the backend with the dev profile (see README)" -ForegroundColor Red
+    } else {
         Write-Host "   Reset Token: $resetToken" -ForegroundColor Cyan
         
         # Test 9: Test password reset with token